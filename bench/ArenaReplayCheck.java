@@ -0,0 +1,57 @@
+// Importa clases para el archivo temporal del registro
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Comprueba que las partidas de arena grabadas se repiten igual: juega varias partidas completas
+// (una por semilla) con varios hilos, separación y entradas fijas, guarda cada registro, lo
+// vuelve a cargar y lo repite (con un solo hilo).
+// Termina con código 1 si algún estado final no coincide con el grabado.
+// Uso: java ArenaReplayCheck [fantasmas] [partidas]
+public class ArenaReplayCheck {
+    public static void main(String[] args) throws IOException {
+        int ghosts = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        int failed = 0;
+        for (long seed = 1; seed <= games; seed++) {
+            if (!roundTrip(ghosts, seed)) {
+                failed++;
+            }
+        }
+        System.out.printf("Arena: %d fantasmas, %d partidas: %s%n", ghosts, games,
+                failed == 0 ? "repeticiones idénticas" : failed + " repeticiones NO coinciden");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Graba una partida como el juego con -Dpacman.arena y -Dpacman.record, la guarda, la vuelve
+    // a cargar y la repite; true si la repetición acaba en el mismo estado
+    static boolean roundTrip(int ghosts, long seed) throws IOException {
+        GameSimulation sim = new GameSimulation();
+        sim.arenaGhosts = ghosts;
+        sim.ghostSeparation = true;
+        sim.setGhostThreads(4);
+        sim.startNewGame(seed);
+        sim.inputLog = new InputLog(sim);
+        for (int n = 0; n < 100_000 && sim.gameState != GameState.GAME_OVER; n++) {
+            // Cambia la dirección pedida cada 25 ticks
+            sim.step(n % 25 == 0 ? sim.directions[(n / 25 * 3) & 3] : 0);
+        }
+        sim.setGhostThreads(1);
+        sim.inputLog.finish(sim);
+
+        // Guarda, vuelve a cargar y repite
+        Path file = Files.createTempFile("arena", ".replay");
+        try {
+            sim.inputLog.save(file);
+            InputLog log = InputLog.load(file);
+            GameSimulation replayed = log.replay();
+            return replayed.tick == log.endTick && replayed.stateHash() == log.endHash
+                    && log.arenaGhosts == ghosts && log.ghostSeparation;
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
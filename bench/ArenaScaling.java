@@ -0,0 +1,63 @@
+// Mide los ticks por segundo del modo arena con 1, 2, 4 y 8 hilos moviendo a los fantasmas (o más
+// si hay más núcleos; con menos núcleos que hilos no puede escalar, pero la tabla sale igual)
+// y comprueba que el estado final es idéntico con cualquier número de hilos. Como en el juego,
+// los fantasmas no pueden superponerse; también muestra cuántos llegaron a salir de su casilla.
+// Uso: java ArenaScaling [fantasmas] [ticks]
+public class ArenaScaling {
+    public static void main(String[] args) {
+        int ghosts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("Arena: %d fantasmas, %d ticks, %d núcleos%n", ghosts, ticks, cores);
+        // Calentamiento para que el JIT compile la simulación antes de la primera medición
+        run(ghosts, ticks, 1);
+        double baseline = 0;
+        long expectedHash = 0;
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            // Calentamiento y medición con la misma semilla
+            run(ghosts, ticks / 4, threads);
+            long start = System.nanoTime();
+            GameSimulation sim = run(ghosts, ticks, threads);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double ticksPerSecond = ticks / seconds;
+            long hash = sim.stateHash();
+            if (threads == 1) {
+                baseline = ticksPerSecond;
+                expectedHash = hash;
+            }
+            System.out.printf("%3d hilos: %8.0f ticks/s  x%.2f  %d/%d fantasmas fuera de su casilla%s%n",
+                    threads, ticksPerSecond, ticksPerSecond / baseline, leftSpawn(sim), ghosts,
+                    hash == expectedHash ? "" : "  (estado distinto!)");
+        }
+    }
+
+    // Juega 'ticks' ticks de arena con Pac-Man quieto; los choques no detienen la partida
+    static GameSimulation run(int ghosts, int ticks, int threads) {
+        GameSimulation sim = new GameSimulation();
+        sim.arenaGhosts = ghosts;
+        sim.ghostSeparation = true;
+        sim.setGhostThreads(threads);
+        sim.startNewGame(1);
+        for (int i = 0; i < ticks; i++) {
+            sim.step((char) 0);
+            // Mantiene la partida en juego para medir solo el movimiento de los fantasmas
+            sim.gameState = GameState.PLAYING;
+        }
+        sim.setGhostThreads(1);
+        return sim;
+    }
+
+    // Fantasmas que ya no están en la casilla donde aparecieron
+    static int leftSpawn(GameSimulation sim) {
+        EntityStore e = sim.entities;
+        int moved = 0;
+        for (int ghost = GameSimulation.FIRST_GHOST; ghost < e.count; ghost++) {
+            if (e.x[ghost] != e.startX[ghost] || e.y[ghost] != e.startY[ghost]) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,38 @@
+// Importa clase del pool de hilos
+import java.util.concurrent.ForkJoinPool;
+
+// Mide cómo escala BatchRunner con el número de hilos (1, 2, 4 y 8, o más si hay más núcleos)
+// en ticks simulados por segundo, y comprueba que el resumen es idéntico con cualquier número
+// de hilos. Con menos núcleos que hilos no puede escalar: la tabla lo muestra igualmente.
+public class BatchScaling {
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        // Calentamiento para que el JIT compile la simulación (si no, el primer tamaño sale
+        // más lento y parece que escala aunque solo haya un núcleo)
+        for (int i = 0; i < 3; i++) {
+            BatchRunner.run(games, 99, GhostTuning.DEFAULT, ForkJoinPool.commonPool());
+        }
+
+        System.out.printf("Lote: %d partidas, %d núcleos%n", games, cores);
+        double baseline = 0;
+        long expectedScore = -1;
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long start = System.nanoTime();
+            BatchRunner.Summary summary = BatchRunner.run(games, 1, GhostTuning.DEFAULT, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+
+            double ticksPerSecond = summary.totalTicks / seconds;
+            if (threads == 1) {
+                baseline = ticksPerSecond;
+                expectedScore = summary.totalScore;
+            }
+            System.out.printf("%3d hilos: %10.0f ticks/s  %6.0f partidas/s  x%.2f%s%n", threads, ticksPerSecond,
+                    games / seconds, ticksPerSecond / baseline,
+                    summary.totalScore == expectedScore ? "" : "  (resumen distinto!)");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+// Importa la interfaz extendida de hilos que mide bytes reservados por hilo
+import com.sun.management.ThreadMXBean;
+// Importa la fábrica de beans de administración de la JVM
+import java.lang.management.ManagementFactory;
+
+// Verifica que las decisiones de los fantasmas y los sondeos de dirección de Pac-Man
+// no reservan memoria. Termina con código 1 si algún camino reserva bytes.
+public class GhostDecisionAllocationCheck {
+    // Llamadas de calentamiento para que el JIT compile los métodos
+    static final int WARMUP_CALLS = 200_000;
+    // Llamadas medidas
+    static final int MEASURED_CALLS = 1_000_000;
+
+    public static void main(String[] args) {
+        // La simulación no necesita ventana
+        GameSimulation game = new GameSimulation();
+        game.loadMap();
+        game.resetPositions();
+
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Costo propio de la medición (se resta de los resultados)
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long baseline = threads.getThreadAllocatedBytes(threadId) - before;
+
+        EntityStore entities = game.entities;
+        int ghostCount = entities.count - GameSimulation.FIRST_GHOST;
+        // Salidas de la celda de cada fantasma (están alineados a la rejilla al empezar)
+        int[] exits = new int[ghostCount];
+        for (int i = 0; i < ghostCount; i++) {
+            int ghost = GameSimulation.FIRST_GHOST + i;
+            int tile = (entities.y[ghost] / 32) * game.mazeGraph.columns + entities.x[ghost] / 32;
+            exits[i] = game.mazeGraph.exits(tile);
+        }
+        int sink = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            int ghost = i % ghostCount;
+            sink ^= game.chooseNewDirection(GameSimulation.FIRST_GHOST + ghost, exits[ghost]);
+            entities.nextDirection[GameSimulation.PACMAN] = (byte) (i & 3);
+            game.tryChangeDirection();
+        }
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            int ghost = i % ghostCount;
+            sink ^= game.chooseNewDirection(GameSimulation.FIRST_GHOST + ghost, exits[ghost]);
+        }
+        long decisionBytes = threads.getThreadAllocatedBytes(threadId) - before - baseline;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            entities.nextDirection[GameSimulation.PACMAN] = (byte) (i & 3);
+            game.tryChangeDirection();
+        }
+        long probeBytes = threads.getThreadAllocatedBytes(threadId) - before - baseline;
+
+        System.out.printf("chooseNewDirection: %d bytes en %d decisiones (%.3f bytes/decisión)%n",
+                decisionBytes, MEASURED_CALLS, decisionBytes / (double) MEASURED_CALLS);
+        System.out.printf("tryChangeDirection: %d bytes en %d sondeos (%.3f bytes/sondeo)%n",
+                probeBytes, MEASURED_CALLS, probeBytes / (double) MEASURED_CALLS);
+        // Usa el resultado para que el JIT no elimine los bucles
+        if (sink == 1) System.out.println();
+
+        System.exit(decisionBytes == 0 && probeBytes == 0 ? 0 : 1);
+    }
+}
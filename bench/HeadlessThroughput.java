@@ -0,0 +1,22 @@
+// Mide cuántos ticks por segundo ejecuta la simulación sin pantalla
+public class HeadlessThroughput {
+    public static void main(String[] args) {
+        // Ticks a ejecutar (se puede pasar como argumento)
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        char[] directions = {'U', 'D', 'L', 'R'};
+
+        GameSimulation sim = new GameSimulation();
+        sim.startNewGame();
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            // Cambia la dirección pedida cada 40 ticks; empieza de nuevo al perder
+            char input = tick % 40 == 0 ? directions[(tick / 40) & 3] : 0;
+            sim.step(input);
+            if (sim.gameState == GameState.GAME_OVER) {
+                sim.startNewGame();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d ticks en %.2f s: %.0f ticks/s%n", ticks, seconds, ticks / seconds);
+    }
+}
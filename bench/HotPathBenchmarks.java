@@ -0,0 +1,215 @@
+// Importa clases para dibujar en una imagen en memoria
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+// Importa clases para leer el sprite original
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.imageio.ImageIO;
+
+// Benchmarks de los caminos calientes de la simulación y del dibujo, sobre el tileMap real.
+// Cada fila muestra tiempo medio por operación, operaciones por segundo y memoria reservada.
+// Conviene ejecutarlo antes y después de cada cambio de rendimiento:
+//   java -Djava.awt.headless=true -cp <clases> HotPathBenchmarks
+// (ver MicroBench para las propiedades bench.*; por ejemplo -Dbench.filter=draw)
+public class HotPathBenchmarks {
+    public static void main(String[] args) {
+        MicroBench.printHeader();
+        benchStep("step", null);
+        benchStep("step/profiled", new TickProfiler(64));
+        benchStep("step/profiledEveryTick", new TickProfiler(1));
+        benchMove();
+        benchWallCollision();
+        benchChooseNewDirection();
+        benchFoodCollision();
+        benchLoadMap();
+        benchDrawGame();
+        benchSpriteBlit();
+        benchHud();
+        System.out.println("(sink " + MicroBench.sink() + ")");
+        // La vista crea hilos de AWT que no terminan solos
+        System.exit(0);
+    }
+
+    // Simulación nueva con semilla fija y la partida en juego
+    static GameSimulation newSimulation() {
+        GameSimulation sim = new GameSimulation(1);
+        sim.startNewGame(1);
+        return sim;
+    }
+
+    // Tick completo: entrada, posiciones anteriores, movimiento y colisiones
+    // (con 'profiler', midiendo además cada fase de move(): su coste es la diferencia)
+    static void benchStep(String name, TickProfiler profiler) {
+        GameSimulation sim = newSimulation();
+        sim.profiler = profiler;
+        int[] counter = {0};
+        MicroBench.run(name, () -> {
+            int n = counter[0]++;
+            // Cambia la dirección pedida cada 40 ticks
+            char input = n % 40 == 0 ? sim.directions[(n / 40) & 3] : 0;
+            sim.step(input);
+            // Sigue jugando aunque Pac-Man muera, para medir siempre el mismo camino
+            sim.gameState = GameState.PLAYING;
+            return sim.score;
+        });
+    }
+
+    // move(): Pac-Man, campo de persecución, fantasmas y comida
+    static void benchMove() {
+        GameSimulation sim = newSimulation();
+        int[] counter = {0};
+        MicroBench.run("move", () -> {
+            int n = counter[0]++;
+            if (n % 40 == 0) {
+                sim.entities.nextDirection[GameSimulation.PACMAN] = (byte) ((n / 40) & 3);
+            }
+            sim.move();
+            sim.gameState = GameState.PLAYING;
+            return sim.score;
+        });
+    }
+
+    // checkWallCollision sobre posiciones alineadas y entre celdas de todo el laberinto
+    static void benchWallCollision() {
+        GameSimulation sim = newSimulation();
+        int[] positions = walkablePositions(sim, new int[] {0, 5, 16, 27});
+        int[] counter = {0};
+        MicroBench.run("checkWallCollision", () -> {
+            int i = (counter[0]++ % (positions.length / 2)) * 2;
+            sim.entities.x[GameSimulation.PACMAN] = positions[i];
+            sim.entities.y[GameSimulation.PACMAN] = positions[i + 1];
+            return sim.checkWallCollision(GameSimulation.PACMAN) ? 1 : 0;
+        });
+    }
+
+    // chooseNewDirection de los fantasmas en su celda de salida
+    static void benchChooseNewDirection() {
+        GameSimulation sim = newSimulation();
+        EntityStore entities = sim.entities;
+        int ghostCount = entities.count - GameSimulation.FIRST_GHOST;
+        int[] exits = new int[ghostCount];
+        for (int i = 0; i < ghostCount; i++) {
+            int ghost = GameSimulation.FIRST_GHOST + i;
+            int tile = (entities.y[ghost] / sim.tileSize) * sim.columnCount + entities.x[ghost] / sim.tileSize;
+            exits[i] = sim.mazeGraph.exits(tile);
+        }
+        int[] counter = {0};
+        MicroBench.run("chooseNewDirection", () -> {
+            int ghost = counter[0]++ % ghostCount;
+            return sim.chooseNewDirection(GameSimulation.FIRST_GHOST + ghost, exits[ghost]);
+        });
+    }
+
+    // checkFoodCollision en todas las celdas transitables; la comida comida se repone
+    static void benchFoodCollision() {
+        GameSimulation sim = newSimulation();
+        int[] positions = walkablePositions(sim, new int[] {0});
+        int[] counter = {0};
+        MicroBench.run("checkFoodCollision", () -> {
+            int i = (counter[0]++ % (positions.length / 2)) * 2;
+            int x = positions[i];
+            int y = positions[i + 1];
+            sim.entities.x[GameSimulation.PACMAN] = x;
+            sim.entities.y[GameSimulation.PACMAN] = y;
+            int before = sim.foodRemaining;
+            sim.checkFoodCollision();
+            if (sim.foodRemaining < before) {
+                // Repone la pieza para que el tablero nunca quede vacío
+                sim.foodBits.set(y / sim.tileSize, x / sim.tileSize);
+                sim.foodRemaining = before;
+                sim.score -= 10;
+                return 1;
+            }
+            return 0;
+        });
+    }
+
+    // loadMap(): mapas de bits, laberinto compilado, personajes y rejilla espacial
+    static void benchLoadMap() {
+        GameSimulation sim = newSimulation();
+        MicroBench.run("loadMap", () -> {
+            sim.loadMap();
+            return sim.foodRemaining;
+        });
+    }
+
+    // drawGame(Graphics) de la vista sobre una imagen en memoria
+    static void benchDrawGame() {
+        PacMan view = new PacMan();
+        view.sim.startNewGame(1);
+        BufferedImage image = new BufferedImage(view.sim.boardWidth, view.sim.boardHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        int[] counter = {0};
+        MicroBench.run("drawGame", () -> {
+            // Avanza la partida de vez en cuando para que el dibujo no sea siempre igual
+            if (counter[0]++ % 16 == 0) {
+                view.sim.step((char) 0);
+                view.sim.gameState = GameState.PLAYING;
+            }
+            view.drawGame(g);
+            return image.getRGB(0, 0);
+        });
+        g.dispose();
+    }
+
+    // Copia de un sprite al tablero: la imagen tal como la lee ImageIO escalada al dibujar
+    // (como antes) frente a la imagen compatible ya escalada a una celda
+    static void benchSpriteBlit() {
+        BufferedImage raw;
+        try {
+            raw = ImageIO.read(PacMan.class.getResource("./blueGhost.png"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int size = new GameSimulation().tileSize;
+        BufferedImage compatible = SpriteImages.compatible(raw, size, size);
+        BufferedImage target = new BufferedImage(size * 8, size * 8, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        int[] counter = {0};
+        MicroBench.run("spriteBlit/scaled", () -> {
+            int n = counter[0]++ & 63;
+            g.drawImage(raw, (n & 7) * size, (n >> 3) * size, size, size, null);
+            return n;
+        });
+        MicroBench.run("spriteBlit/compatible", () -> {
+            int n = counter[0]++ & 63;
+            g.drawImage(compatible, (n & 7) * size, (n >> 3) * size, null);
+            return n;
+        });
+        g.dispose();
+    }
+
+    // Marcador con la puntuación cambiando en cada operación (el peor caso: se redibuja siempre)
+    static void benchHud() {
+        PacMan view = new PacMan();
+        view.sim.startNewGame(1);
+        BufferedImage image = new BufferedImage(view.sim.boardWidth, view.sim.boardHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        // El primer dibujo crea las capas
+        view.drawGame(g);
+        int[] counter = {0};
+        MicroBench.run("drawHud/newScore", () -> {
+            view.sim.score = (counter[0]++ & 0xFFFF) * 10;
+            view.drawGame(g);
+            return image.getRGB(0, 0);
+        });
+        g.dispose();
+    }
+
+    // Posiciones (x, y) de todas las celdas transitables, desplazadas en x por cada offset
+    static int[] walkablePositions(GameSimulation sim, int[] offsets) {
+        int tiles = sim.rowCount * sim.columnCount;
+        int count = 0;
+        int[] positions = new int[tiles * offsets.length * 2];
+        for (int tile = 0; tile < tiles; tile++) {
+            if (sim.mazeGraph.exits(tile) == 0) {
+                continue;
+            }
+            for (int offset : offsets) {
+                positions[count++] = (tile % sim.columnCount) * sim.tileSize + offset;
+                positions[count++] = (tile / sim.columnCount) * sim.tileSize;
+            }
+        }
+        return java.util.Arrays.copyOf(positions, count);
+    }
+}
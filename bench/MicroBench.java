@@ -0,0 +1,125 @@
+// Importa la interfaz extendida de hilos que mide bytes reservados por hilo
+import com.sun.management.ThreadMXBean;
+// Importa los beans de administración de la JVM (hilos y recolector de basura)
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+// Importa utilidades para filtrar benchmarks por nombre
+import java.util.regex.Pattern;
+
+// Arnés mínimo de microbenchmarks al estilo de JMH, sin dependencias:
+// iteraciones de calentamiento y de medición por tiempo, tiempo medio por operación (avgt),
+// operaciones por segundo (thrpt) y perfil de memoria como el de -prof gc
+// (bytes reservados por operación, recolecciones y tiempo de GC durante la medición).
+//
+// Propiedades: -Dbench.warmup=5 -Dbench.iterations=5 -Dbench.millis=500 -Dbench.filter=<regex>
+final class MicroBench {
+    // Operación medida; devuelve un valor que se acumula para que el JIT no la elimine
+    interface Operation {
+        long run();
+    }
+
+    // Iteraciones de calentamiento
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 5);
+    // Iteraciones medidas
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+    // Duración de cada iteración en milisegundos
+    private static final int ITERATION_MILLIS = Integer.getInteger("bench.millis", 500);
+    // Solo se ejecutan los benchmarks cuyo nombre contiene esta expresión
+    private static final Pattern FILTER = Pattern.compile(System.getProperty("bench.filter", ""));
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Suma de los resultados de todas las operaciones (el "blackhole")
+    private static long sink;
+
+    private MicroBench() {
+    }
+
+    // Imprime la cabecera de la tabla de resultados
+    static void printHeader() {
+        System.out.printf("%-28s %14s %9s %16s %12s %8s %8s%n",
+                "Benchmark", "avgt (ns/op)", "± error", "thrpt (ops/s)", "alloc (B/op)", "gc.count", "gc.ms");
+    }
+
+    // Mide una operación y muestra una fila de resultados
+    static void run(String name, Operation operation) {
+        if (!FILTER.matcher(name).find()) {
+            return;
+        }
+        // Calentamiento: el JIT compila la operación y se estabiliza
+        for (int i = 0; i < WARMUP; i++) {
+            iteration(operation);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long totalOps = 0;
+        double[] nanosPerOp = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long[] result = iteration(operation);
+            nanosPerOp[i] = result[1] / (double) result[0];
+            totalOps += result[0];
+        }
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        // Media y error (intervalo de confianza del 99.9% aproximado, como JMH)
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= ITERATIONS;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double error = ITERATIONS > 1 ? 3.29 * Math.sqrt(variance / (ITERATIONS - 1)) / Math.sqrt(ITERATIONS) : 0;
+
+        System.out.printf("%-28s %14.1f %9.1f %16.0f %12.1f %8d %8d%n",
+                name, mean, error, 1e9 / mean, bytes / (double) totalOps,
+                gcCount() - gcCountBefore, gcMillis() - gcMillisBefore);
+    }
+
+    // Ejecuta la operación durante una iteración; devuelve {operaciones, nanosegundos}
+    private static long[] iteration(Operation operation) {
+        long deadline = System.nanoTime() + ITERATION_MILLIS * 1_000_000L;
+        long ops = 0;
+        long acc = 0;
+        long start = System.nanoTime();
+        long now;
+        do {
+            // Lotes de operaciones para que leer el reloj no pese en la medición
+            for (int i = 0; i < 64; i++) {
+                acc += operation.run();
+            }
+            ops += 64;
+            now = System.nanoTime();
+        } while (now < deadline);
+        sink += acc;
+        return new long[] {ops, now - start};
+    }
+
+    // Recolecciones hechas hasta ahora por todos los recolectores
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    // Tiempo total de recolección hasta ahora en milisegundos
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    // Valor acumulado (para imprimirlo al final y que nada se elimine como código muerto)
+    static long sink() {
+        return sink;
+    }
+}
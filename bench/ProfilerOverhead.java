@@ -0,0 +1,65 @@
+// Importa utilidades para ordenar las mediciones
+import java.util.Arrays;
+
+// Coste del perfil por fases (TickProfiler) sobre el tick de la simulación.
+// Juega la misma partida (semilla y entradas fijas) sin perfil, con el perfil por muestreo
+// (un tick de cada 64, como en el juego) y midiendo todos los ticks, alternando las tres
+// variantes en cada ronda (en orden rotado) para que el ruido de la máquina afecte a todas
+// por igual.
+// Muestra la mediana de las rondas en ns por tick y el sobrecoste frente a no medir.
+// Uso: java ProfilerOverhead [rondas] [ticks por ronda]
+public class ProfilerOverhead {
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 41;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int[] sampling = {0, 64, 1};
+        String[] names = {"sin perfil", "perfil 1/64", "perfil 1/1"};
+
+        long[][] nanos = new long[sampling.length][rounds];
+        long sink = 0;
+        // Calentamiento de las tres variantes
+        for (int variant = 0; variant < sampling.length; variant++) {
+            sink += play(sampling[variant], ticks);
+        }
+        for (int round = 0; round < rounds; round++) {
+            // El orden rota en cada ronda: ninguna variante va siempre después de otra
+            for (int k = 0; k < sampling.length; k++) {
+                int variant = (round + k) % sampling.length;
+                long start = System.nanoTime();
+                sink += play(sampling[variant], ticks);
+                nanos[variant][round] = System.nanoTime() - start;
+            }
+        }
+
+        double baseline = median(nanos[0]) / (double) ticks;
+        System.out.printf("%d rondas de %d ticks (mediana)%n", rounds, ticks);
+        for (int variant = 0; variant < sampling.length; variant++) {
+            double perTick = median(nanos[variant]) / (double) ticks;
+            System.out.printf("%-12s %8.1f ns/tick  %+6.2f%%%n", names[variant], perTick,
+                    (perTick / baseline - 1) * 100);
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    // Juega 'ticks' ticks con una semilla fija; 'sampling' = 0 sin perfil
+    static long play(int sampling, int ticks) {
+        GameSimulation sim = new GameSimulation(1);
+        sim.profiler = sampling == 0 ? null : new TickProfiler(sampling);
+        sim.startNewGame(1);
+        for (int n = 0; n < ticks; n++) {
+            // Cambia la dirección pedida cada 40 ticks
+            char input = n % 40 == 0 ? sim.directions[(n / 40) & 3] : 0;
+            sim.step(input);
+            // Sigue jugando aunque Pac-Man muera, para medir siempre el mismo camino
+            sim.gameState = GameState.PLAYING;
+        }
+        return sim.score;
+    }
+
+    // Mediana de unas mediciones
+    static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,118 @@
+// Importa clase para rectángulos (representa las paredes del método antiguo)
+import java.awt.Rectangle;
+// Importa clase para colecciones que no permiten duplicados
+import java.util.HashSet;
+// Importa clase para generar números aleatorios
+import java.util.Random;
+
+// Benchmark: costo por tick de las colisiones con paredes según el tamaño del laberinto.
+// Compara el recorrido antiguo de HashSet contra el mapa de bits por celdas.
+public class WallCollisionBenchmark {
+    // Tamaño de cada celda en píxeles (igual que en el juego)
+    static final int TILE_SIZE = 32;
+    // Sondeos por tick: Pac-Man + 4 fantasmas, con los 4 sondeos de chooseNewDirection
+    static final int PROBES_PER_TICK = 30;
+    // Ticks medidos por cada tamaño de laberinto
+    static final int TICKS = 20_000;
+
+    public static void main(String[] args) {
+        // Tamaños de laberinto: el original (21x19) y versiones cada vez más grandes
+        int[][] sizes = {{21, 19}, {42, 38}, {84, 76}, {168, 152}};
+
+        System.out.printf("%-10s %8s %16s %16s%n", "laberinto", "paredes", "HashSet ns/tick", "bitmap ns/tick");
+        for (int[] size : sizes) {
+            String[] tileMap = buildMaze(size[0], size[1]);
+            TileBitmap wallBits = TileBitmap.fromTileMap(tileMap, size[0], size[1], 'X');
+            HashSet<Rectangle> walls = buildWallSet(tileMap, size[0], size[1]);
+            int[] probes = buildProbes(size[0], size[1]);
+
+            // Calentamiento para que el JIT compile ambos caminos
+            runHashSet(walls, probes, TICKS / 10);
+            runBitmap(wallBits, probes, TICKS);
+
+            long hashSetNanos = runHashSet(walls, probes, TICKS / 10) / (TICKS / 10);
+            long bitmapNanos = runBitmap(wallBits, probes, TICKS) / TICKS;
+            System.out.printf("%-10s %8d %16d %16d%n", size[0] + "x" + size[1], walls.size(), hashSetNanos, bitmapNanos);
+        }
+    }
+
+    // Genera un laberinto con borde de paredes y pilares en celdas alternas
+    static String[] buildMaze(int rows, int columns) {
+        String[] tileMap = new String[rows];
+        for (int r = 0; r < rows; r++) {
+            StringBuilder row = new StringBuilder(columns);
+            for (int c = 0; c < columns; c++) {
+                boolean border = r == 0 || c == 0 || r == rows - 1 || c == columns - 1;
+                boolean pillar = r % 2 == 0 && c % 2 == 0;
+                row.append(border || pillar ? 'X' : ' ');
+            }
+            tileMap[r] = row.toString();
+        }
+        return tileMap;
+    }
+
+    // Construye el conjunto de paredes como lo hacía loadMap() antes del mapa de bits
+    static HashSet<Rectangle> buildWallSet(String[] tileMap, int rows, int columns) {
+        HashSet<Rectangle> walls = new HashSet<>();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (tileMap[r].charAt(c) == 'X') {
+                    walls.add(new Rectangle(c * TILE_SIZE, r * TILE_SIZE, TILE_SIZE, TILE_SIZE));
+                }
+            }
+        }
+        return walls;
+    }
+
+    // Posiciones (x, y) de los sondeos de un tick, repartidas por el tablero
+    static int[] buildProbes(int rows, int columns) {
+        Random random = new Random(42);
+        int[] probes = new int[PROBES_PER_TICK * 2];
+        for (int i = 0; i < PROBES_PER_TICK; i++) {
+            // Múltiplos de 4 píxeles, igual que la velocidad de los personajes
+            probes[i * 2] = random.nextInt(columns * TILE_SIZE / 4) * 4;
+            probes[i * 2 + 1] = random.nextInt(rows * TILE_SIZE / 4) * 4;
+        }
+        return probes;
+    }
+
+    // Método antiguo: recorre todas las paredes en cada sondeo
+    static long runHashSet(HashSet<Rectangle> walls, int[] probes, int ticks) {
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            for (int i = 0; i < probes.length; i += 2) {
+                int x = probes[i];
+                int y = probes[i + 1];
+                for (Rectangle wall : walls) {
+                    if (x < wall.x + wall.width && x + TILE_SIZE > wall.x &&
+                        y < wall.y + wall.height && y + TILE_SIZE > wall.y) {
+                        hits++;
+                        break;
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        // Usa el resultado para que el JIT no elimine el bucle
+        if (hits == -1) System.out.println(hits);
+        return elapsed;
+    }
+
+    // Método nuevo: solo consulta las celdas cubiertas en el mapa de bits
+    static long runBitmap(TileBitmap wallBits, int[] probes, int ticks) {
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            for (int i = 0; i < probes.length; i += 2) {
+                if (wallBits.overlaps(probes[i], probes[i + 1], TILE_SIZE, TILE_SIZE, TILE_SIZE)) {
+                    hits++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        // Usa el resultado para que el JIT no elimine el bucle
+        if (hits == -1) System.out.println(hits);
+        return elapsed;
+    }
+}
@@ -0,0 +1,212 @@
+// Importa las clases necesarias para gráficos
+import java.awt.*;
+// Importa clases de imágenes aceleradas y estrategias de búfer
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+// Importa utilidades para la caché de sprites y el reparto de eventos
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.SwingUtilities;
+
+// Dibujo activo de la partida (opcional, -Dpacman.activeRender=true): un Canvas con
+// BufferStrategy de 3 búferes (o 2 si no se puede) y un hilo propio que avanza la
+// simulación y presenta un cuadro por refresco de pantalla, sin esperar a que Swing
+// programe paintComponent. Los sprites se copian a VolatileImage (memoria de vídeo) y se
+// vuelven a copiar si el sistema pierde su contenido.
+//
+// Mientras el hilo corre es el único que toca la simulación; la vista solo le pasa la
+// dirección pedida y lo detiene (esperando a que termine) antes de cambiar el estado.
+// Fuera de la partida (menú, pausa, fin de juego) el Canvas se oculta y dibuja Swing.
+// (Nunca se serializa)
+@SuppressWarnings("serial")
+final class ActiveRenderer extends Canvas implements Runnable {
+    // Refresco supuesto si la pantalla no informa el suyo
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    // Vista que avanza la simulación y dibuja la partida
+    private final PacMan view;
+    // Tamaño de los sprites en pantalla
+    private final int spriteSize;
+    // Búferes pedidos (-Dpacman.buffers, 3 por defecto)
+    private final int buffers = Integer.getInteger("pacman.buffers", 3);
+    // Tiempo entre cuadros del bucle de dibujo
+    final FrameStats stats = new FrameStats("activo (BufferStrategy)");
+
+    // Hilo de dibujo (null si está detenido)
+    private Thread thread;
+    // El hilo debe seguir corriendo
+    private volatile boolean running;
+    // Copias aceleradas de cada sprite (solo las usa el hilo de dibujo)
+    private final Map<Image, VolatileImage> sprites = new IdentityHashMap<>();
+
+    // Constructor: Canvas del tamaño del tablero, oculto hasta que empiece la partida
+    ActiveRenderer(PacMan view, int width, int height, int spriteSize) {
+        this.view = view;
+        this.spriteSize = spriteSize;
+        setBounds(0, 0, width, height);
+        setBackground(Color.BLACK);
+        // El hilo dibuja cada cuadro; los avisos de repintado del sistema no hacen falta
+        setIgnoreRepaint(true);
+        // El teclado lo sigue recibiendo el panel
+        setFocusable(false);
+        setVisible(false);
+    }
+
+    // Se usa solo si se pidió y hay pantalla
+    static boolean enabled() {
+        return Boolean.getBoolean("pacman.activeRender") && !GraphicsEnvironment.isHeadless();
+    }
+
+    // El hilo de dibujo está corriendo
+    boolean isRunning() {
+        return running;
+    }
+
+    // Muestra el Canvas y arranca el hilo de dibujo (desde el hilo de Swing)
+    void start() {
+        if (running) {
+            return;
+        }
+        setVisible(true);
+        if (getBufferStrategy() == null) {
+            createStrategy();
+        }
+        // Las imágenes de Pac-Man cambian con el color elegido: se vuelven a copiar
+        for (VolatileImage image : sprites.values()) {
+            image.flush();
+        }
+        sprites.clear();
+
+        running = true;
+        thread = new Thread(this, "pacman-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Detiene el hilo de dibujo, espera a que termine el cuadro actual y oculta el Canvas
+    void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+        stats.pause();
+        setVisible(false);
+    }
+
+    // Crea la estrategia de búferes: intercambio de páginas acelerado si se puede
+    private void createStrategy() {
+        BufferCapabilities flip = new BufferCapabilities(new ImageCapabilities(true), new ImageCapabilities(true),
+                                                         BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            createBufferStrategy(buffers, flip);
+        } catch (AWTException e) {
+            // Sin intercambio de páginas: copia de búferes (createBufferStrategy elige la mejor)
+            createBufferStrategy(Math.max(2, buffers));
+        }
+    }
+
+    // Bucle del hilo de dibujo: simula los ticks que tocan, dibuja y espera al siguiente refresco
+    @Override
+    public void run() {
+        BufferStrategy strategy = getBufferStrategy();
+        long period = 1_000_000_000L / refreshRate();
+        long next = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            int events = view.advanceSimulation(now);
+            if (events != 0) {
+                // Sonidos y pantallas los maneja el hilo de Swing
+                SwingUtilities.invokeLater(() -> view.handleSimulationEvents(events));
+            }
+
+            // Dibuja el cuadro y lo repite si se perdió algún búfer o sprite mientras se dibujaba
+            do {
+                do {
+                    Graphics g = strategy.getDrawGraphics();
+                    try {
+                        view.drawGame(g);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored() || spritesLost());
+                strategy.show();
+            } while (strategy.contentsLost());
+            // En Linux el cuadro no llega a la pantalla hasta que se vacía la cola de X11
+            Toolkit.getDefaultToolkit().sync();
+            view.frameFinished(System.nanoTime());
+
+            // Espera al siguiente refresco; si el cuadro tardó más de uno, no intenta recuperarlo
+            next += period;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (wait < -period) {
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    // Copia acelerada de un sprite, ya escalada al tamaño en pantalla.
+    // Fuera del hilo de dibujo (paintComponent) devuelve la imagen original.
+    Image accelerated(Image source) {
+        if (Thread.currentThread() != thread) {
+            return source;
+        }
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        VolatileImage image = sprites.get(source);
+        int status = image == null ? VolatileImage.IMAGE_INCOMPATIBLE : image.validate(config);
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            // Primera vez o cambió la configuración de pantalla: se crea de nuevo
+            if (image != null) {
+                image.flush();
+            }
+            image = config.createCompatibleVolatileImage(spriteSize, spriteSize, Transparency.TRANSLUCENT);
+            sprites.put(source, image);
+            copy(source, image);
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            // La memoria de vídeo se recuperó pero el contenido se perdió
+            copy(source, image);
+        }
+        return image;
+    }
+
+    // Algún sprite perdió su contenido después de validarlo: el cuadro se vuelve a dibujar
+    private boolean spritesLost() {
+        for (VolatileImage image : sprites.values()) {
+            if (image.contentsLost()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Copia un sprite a su imagen acelerada (fondo transparente)
+    private void copy(Image source, VolatileImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, spriteSize, spriteSize);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, spriteSize, spriteSize, null);
+        g.dispose();
+    }
+
+    // Frecuencia de refresco de la pantalla del Canvas
+    private int refreshRate() {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        int rate = config == null ? DisplayMode.REFRESH_RATE_UNKNOWN : config.getDevice().getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN || rate <= 0 ? DEFAULT_REFRESH_RATE : rate;
+    }
+}
@@ -0,0 +1,188 @@
+// Importa clases de audio
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+// Importa clase para errores de lectura
+import java.io.IOException;
+// Importa la cola de órdenes
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Sonido del juego en un hilo propio. La vista (y los ticks) solo dejan órdenes en una cola
+// y siguen: nunca esperan a que se abra una línea ni a que se lea un archivo.
+// El hilo decodifica cada sonido una vez (PcmSound) y los mezcla por software
+// (SoftwareMixer, hasta MAX_VOICES a la vez) en una sola SourceDataLine, en bloques de
+// CHUNK_FRAMES muestras. La línea guarda como mucho BUFFER_CHUNKS bloques, así que una orden
+// tarda en oírse a lo sumo ese búfer más un bloque.
+final class AudioEngine implements Runnable {
+    // Sonidos del juego
+    static final int MOVE = 0;
+    static final int DIE = 1;
+    private static final String[] FILES = {"./move.wav", "./die.wav"};
+
+    // Formato de salida: mono, 16 bits, a la frecuencia del sonido de movimiento
+    static final float SAMPLE_RATE = 22050f;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+    // Muestras por bloque de mezcla (-Dpacman.audioChunk; 256 son unos 11.6 ms)
+    static final int CHUNK_FRAMES = Math.max(32, Integer.getInteger("pacman.audioChunk", 256));
+    // Bloques que caben en el búfer de la línea
+    private static final int BUFFER_CHUNKS = 4;
+    // Voces que pueden sonar a la vez
+    static final int MAX_VOICES = 8;
+
+    // Órdenes (en un solo int menor que 128: orden << 4 | sonido; esos Integer están en caché
+    // y encolarlos no reserva memoria)
+    private static final int PLAY = 1;
+    private static final int LOOP = 2;
+    private static final int STOP = 3;
+    private static final int STOP_ALL = 4;
+    private static final int SHUTDOWN = 5;
+
+    // Cola de órdenes pendientes
+    private final BlockingQueue<Integer> commands = new ArrayBlockingQueue<>(64);
+    // Órdenes descartadas porque la cola estaba llena
+    private volatile int dropped;
+
+    // Estadísticas de la salida (solo las escribe el hilo de audio)
+    private volatile long chunksWritten;
+    private volatile long underruns;
+    private volatile long latencyFramesTotal;
+    private volatile long latencyFramesMax;
+
+    // Constructor: arranca el hilo de audio, que carga los sonidos antes de atender órdenes
+    AudioEngine() {
+        Thread thread = new Thread(this, "audio");
+        thread.setDaemon(true);
+        // La mezcla debe llegar a tiempo aunque el juego use toda la CPU
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    // Reproduce un sonido una vez o en bucle (se suma a los que ya suenan)
+    void play(int sound, boolean loop) {
+        send(loop ? LOOP : PLAY, sound);
+    }
+
+    // Detiene un sonido
+    void stop(int sound) {
+        send(STOP, sound);
+    }
+
+    // Detiene todos los sonidos
+    void stopAll() {
+        send(STOP_ALL, 0);
+    }
+
+    // Termina el hilo de audio y cierra la línea
+    void shutdown() {
+        send(SHUTDOWN, 0);
+    }
+
+    // Órdenes descartadas hasta ahora
+    int dropped() {
+        return dropped;
+    }
+
+    // Resumen de la salida: latencia medida (audio ya escrito que aún no suena) y cortes
+    String stats() {
+        long chunks = chunksWritten;
+        if (chunks == 0) {
+            return "audio: sin salida";
+        }
+        return String.format("audio: %d bloques de %d muestras, latencia media %.1f ms, max %.1f ms, %d cortes, %d órdenes descartadas",
+                chunks, CHUNK_FRAMES, latencyFramesTotal / (double) chunks / SAMPLE_RATE * 1000,
+                latencyFramesMax / SAMPLE_RATE * 1000, underruns, dropped);
+    }
+
+    // Deja una orden en la cola sin esperar; si está llena la descarta
+    private void send(int command, int sound) {
+        if (!commands.offer(command << 4 | sound)) {
+            dropped++;
+        }
+    }
+
+    // Hilo de audio: carga los sonidos, abre la línea y mezcla bloque a bloque
+    @Override
+    public void run() {
+        SourceDataLine line = null;
+        try {
+            SoftwareMixer mixer = new SoftwareMixer(loadSounds(), MAX_VOICES, CHUNK_FRAMES);
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, CHUNK_FRAMES * BUFFER_CHUNKS * FORMAT.getFrameSize());
+            line.start();
+            mix(mixer, line);
+        } catch (Exception e) {
+            // Un solo aviso: a partir de aquí las órdenes se ignoran
+            System.err.println("Sonido desactivado: " + e.getMessage());
+            ignoreCommands();
+        } finally {
+            if (line != null) {
+                line.stop();
+                line.close();
+            }
+        }
+    }
+
+    // Bucle de mezcla: aplica las órdenes pendientes, mezcla un bloque y lo escribe.
+    // write() espera a que haya sitio en la línea: eso marca el ritmo del hilo.
+    private void mix(SoftwareMixer mixer, SourceDataLine line) {
+        byte[] chunk = new byte[CHUNK_FRAMES * FORMAT.getFrameSize()];
+        long framesWritten = 0;
+        while (true) {
+            for (Integer command = commands.poll(); command != null; command = commands.poll()) {
+                if (!execute(mixer, command)) {
+                    return;
+                }
+            }
+            mixer.mix(chunk, CHUNK_FRAMES);
+            // Si la línea se vació del todo, se oyó un corte antes de este bloque
+            if (framesWritten > 0 && line.available() >= line.getBufferSize()) {
+                underruns++;
+            }
+            line.write(chunk, 0, chunk.length);
+            framesWritten += CHUNK_FRAMES;
+
+            // Latencia: muestras escritas que la tarjeta todavía no ha reproducido
+            long latency = framesWritten - line.getLongFramePosition();
+            latencyFramesTotal += latency;
+            if (latency > latencyFramesMax) {
+                latencyFramesMax = latency;
+            }
+            chunksWritten++;
+        }
+    }
+
+    // Aplica una orden al mezclador; false si es la de terminar
+    private static boolean execute(SoftwareMixer mixer, int command) {
+        int op = command >> 4;
+        int sound = command & 0xF;
+        switch (op) {
+            case PLAY: mixer.play(sound, false); break;
+            case LOOP: mixer.play(sound, true); break;
+            case STOP: mixer.stop(sound); break;
+            case STOP_ALL: mixer.stopAll(); break;
+            case SHUTDOWN: return false;
+        }
+        return true;
+    }
+
+    // Sin salida de audio: vacía la cola hasta que se pida terminar
+    private void ignoreCommands() {
+        try {
+            while (commands.take() >> 4 != SHUTDOWN) {
+                // Se descarta
+            }
+        } catch (InterruptedException e) {
+            // Se termina el hilo
+        }
+    }
+
+    // Decodifica cada sonido una vez a muestras mono en el formato de salida
+    static short[][] loadSounds() throws IOException {
+        short[][] sounds = new short[FILES.length][];
+        for (int sound = 0; sound < FILES.length; sound++) {
+            sounds[sound] = PcmSound.decode(FILES[sound]).monoSamples(SAMPLE_RATE);
+        }
+        return sounds;
+    }
+}
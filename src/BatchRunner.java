@@ -0,0 +1,161 @@
+// Importa clases para generar números aleatorios
+import java.util.Random;
+// Importa clases para repartir las partidas entre los núcleos
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Ejecuta muchas partidas sin pantalla en paralelo para comparar ajustes de los fantasmas.
+// Cada partida tiene su propia simulación y su propia semilla (derivada de la semilla del lote
+// y del número de partida), así que el resumen es el mismo con 1 hilo o con 64.
+// Uso: java [-Dghost.chase=0.7 ...] BatchRunner [partidas] [semilla] [hilos]
+public class BatchRunner {
+    // Partidas que ejecuta cada tarea sin dividirse más
+    private static final int GAMES_PER_TASK = 8;
+    // Límite de ticks por partida (por si el piloto nunca pierde)
+    static final int MAX_TICKS = Integer.getInteger("batch.maxTicks", 100_000);
+
+    // Resultados acumulados de un grupo de partidas
+    static final class Summary {
+        // Partidas jugadas
+        int games;
+        // Suma, mínimo y máximo de las puntuaciones
+        long totalScore;
+        int minScore = Integer.MAX_VALUE;
+        int maxScore = Integer.MIN_VALUE;
+        // Suma de los ticks que sobrevivió Pac-Man en cada partida
+        long totalTicks;
+        // Partidas en las que se completó al menos un nivel
+        int gamesWithClear;
+        // Niveles completados en total
+        long levelsCleared;
+
+        // Agrega el resultado de una partida
+        void add(int score, long ticks, int cleared) {
+            games++;
+            totalScore += score;
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+            totalTicks += ticks;
+            levelsCleared += cleared;
+            if (cleared > 0) {
+                gamesWithClear++;
+            }
+        }
+
+        // Junta los resultados de otro grupo en este
+        Summary combine(Summary other) {
+            games += other.games;
+            totalScore += other.totalScore;
+            minScore = Math.min(minScore, other.minScore);
+            maxScore = Math.max(maxScore, other.maxScore);
+            totalTicks += other.totalTicks;
+            gamesWithClear += other.gamesWithClear;
+            levelsCleared += other.levelsCleared;
+            return this;
+        }
+
+        // Puntuación media
+        double averageScore() {
+            return games == 0 ? 0 : totalScore / (double) games;
+        }
+
+        // Ticks de supervivencia medios
+        double averageTicks() {
+            return games == 0 ? 0 : totalTicks / (double) games;
+        }
+
+        // Fracción de partidas en las que se completó un nivel
+        double clearRate() {
+            return games == 0 ? 0 : gamesWithClear / (double) games;
+        }
+    }
+
+    // Tarea que juega un rango de partidas, dividiéndolo en mitades mientras sea grande
+    // (nunca se serializa)
+    @SuppressWarnings("serial")
+    private static final class GameRange extends RecursiveTask<Summary> {
+        private final long batchSeed;
+        private final GhostTuning tuning;
+        private final int from;
+        private final int to;
+
+        GameRange(long batchSeed, GhostTuning tuning, int from, int to) {
+            this.batchSeed = batchSeed;
+            this.tuning = tuning;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from > GAMES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                GameRange left = new GameRange(batchSeed, tuning, from, middle);
+                left.fork();
+                Summary right = new GameRange(batchSeed, tuning, middle, to).compute();
+                return left.join().combine(right);
+            }
+            // Una simulación por tarea, reutilizada para todas sus partidas
+            GameSimulation sim = new GameSimulation();
+            sim.tuning = tuning;
+            Summary summary = new Summary();
+            for (int game = from; game < to; game++) {
+                playGame(sim, gameSeed(batchSeed, game), summary);
+            }
+            return summary;
+        }
+    }
+
+    // Juega todas las partidas del lote en el pool y devuelve el resumen
+    static Summary run(int games, long batchSeed, GhostTuning tuning, ForkJoinPool pool) {
+        return pool.invoke(new GameRange(batchSeed, tuning, 0, games));
+    }
+
+    // Semilla de una partida: mezcla SplitMix64 de la semilla del lote y el número de partida
+    static long gameSeed(long batchSeed, int game) {
+        long z = batchSeed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Juega una partida completa con un piloto que camina al azar
+    static void playGame(GameSimulation sim, long seed, Summary summary) {
+        char[] directions = sim.directions;
+        // El piloto tiene su propio generador para no alterar el de la simulación
+        Random pilot = new Random(~seed);
+        sim.startNewGame(seed);
+        int cleared = 0;
+        while (sim.gameState != GameState.GAME_OVER && sim.tick < MAX_TICKS) {
+            // Cada tick hay 1 posibilidad entre 20 de pedir una dirección nueva
+            char input = pilot.nextInt(20) == 0 ? directions[pilot.nextInt(4)] : 0;
+            if ((sim.step(input) & GameSimulation.EVENT_LEVEL_CLEARED) != 0) {
+                cleared++;
+            }
+        }
+        summary.add(sim.score, sim.tick, cleared);
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GhostTuning tuning = GhostTuning.fromSystemProperties();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Summary summary = run(games, seed, tuning, pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        System.out.println("Fantasmas: " + tuning);
+        System.out.printf("%d partidas (semilla %d) en %d hilos: %.2f s, %.0f partidas/s, %.0f ticks/s%n",
+                summary.games, seed, threads, seconds, summary.games / seconds, summary.totalTicks / seconds);
+        System.out.printf("Puntuación: media %.1f, mínima %d, máxima %d%n",
+                summary.averageScore(), summary.minScore, summary.maxScore);
+        System.out.printf("Supervivencia: %.0f ticks de media (%.1f s de juego)%n",
+                summary.averageTicks(), summary.averageTicks() * GameSimulation.TICK_MILLIS / 1000.0);
+        System.out.printf("Niveles completados: %d (%.1f%% de las partidas)%n",
+                summary.levelsCleared, summary.clearRate() * 100);
+    }
+}
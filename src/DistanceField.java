@@ -0,0 +1,81 @@
+// Importa utilidades para rellenar arrays
+import java.util.Arrays;
+
+// Campo de distancias (BFS) desde todas las celdas hacia un objetivo.
+// Se calcula una sola vez por cambio de objetivo y lo comparten todos los fantasmas:
+// para acercarse basta con ir a la celda vecina de menor distancia.
+class DistanceField {
+    // Distancia que se usa para celdas inalcanzables o paredes
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Laberinto sobre el que se calculan las distancias
+    private final MazeGraph maze;
+    // Distancia en celdas de cada celda al objetivo
+    private final int[] distance;
+    // Cola reutilizable del recorrido en anchura
+    private final int[] queue;
+    // Celda objetivo actual (-1 si todavía no se calculó)
+    private int target = -1;
+
+    // Constructor: reserva los arrays una sola vez para este laberinto
+    DistanceField(MazeGraph maze) {
+        this.maze = maze;
+        this.distance = new int[maze.rows * maze.columns];
+        this.queue = new int[maze.rows * maze.columns];
+        Arrays.fill(distance, UNREACHABLE);
+    }
+
+    // Celda objetivo del último cálculo
+    int target() {
+        return target;
+    }
+
+    // Recalcula todas las distancias hacia una nueva celda objetivo (O(celdas))
+    void recompute(int targetTile) {
+        target = targetTile;
+        Arrays.fill(distance, UNREACHABLE);
+        if (maze.exits(targetTile) == 0) {
+            return;
+        }
+        int headIndex = 0;
+        int tailIndex = 0;
+        distance[targetTile] = 0;
+        queue[tailIndex++] = targetTile;
+        while (headIndex < tailIndex) {
+            int tile = queue[headIndex++];
+            int exits = maze.exits(tile);
+            for (int dir = 0; dir < 4; dir++) {
+                if ((exits & (1 << dir)) == 0) {
+                    continue;
+                }
+                int neighbor = maze.step(tile, dir);
+                if (distance[neighbor] == UNREACHABLE) {
+                    distance[neighbor] = distance[tile] + 1;
+                    queue[tailIndex++] = neighbor;
+                }
+            }
+        }
+    }
+
+    // Distancia de una celda al objetivo
+    int distance(int tile) {
+        return distance[tile];
+    }
+
+    // Dirección permitida por 'allowed' que más acerca al objetivo (-1 si ninguna lo alcanza)
+    int bestDirection(int tile, int allowed) {
+        int best = -1;
+        int bestDistance = UNREACHABLE;
+        for (int dir = 0; dir < 4; dir++) {
+            if ((allowed & (1 << dir)) == 0) {
+                continue;
+            }
+            int neighbor = maze.step(tile, dir);
+            if (neighbor != -1 && distance[neighbor] < bestDistance) {
+                bestDistance = distance[neighbor];
+                best = dir;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,163 @@
+// Importa utilidades para agrandar arrays
+import java.util.Arrays;
+
+// Personajes del juego (Pac-Man y fantasmas) guardados por columnas: un array primitivo por
+// campo en lugar de un objeto por personaje. Los bucles que recorren a todos los fantasmas
+// leen memoria contigua y el JIT puede vectorizar las actualizaciones de posición.
+// Las paredes y la comida no están aquí: viven en los mapas de bits del tablero.
+final class EntityStore {
+    // Desplazamiento horizontal de cada dirección (0 = U, 1 = D, 2 = L, 3 = R)
+    private static final int[] DX = {0, 0, -1, 1};
+    // Desplazamiento vertical de cada dirección
+    private static final int[] DY = {-1, 1, 0, 0};
+
+    // Ancho y alto de todos los personajes en píxeles
+    final int size;
+    // Píxeles que avanza un personaje por tick
+    final int speed;
+    // Cantidad de personajes guardados
+    int count;
+
+    // Posición actual en píxeles
+    int[] x;
+    int[] y;
+    // Posición al empezar el tick actual (la vista interpola entre esta y la actual)
+    int[] previousX;
+    int[] previousY;
+    // Posición inicial (para reiniciar)
+    int[] startX;
+    int[] startY;
+    // Velocidad actual en píxeles por tick
+    int[] velocityX;
+    int[] velocityY;
+    // Dirección actual (índice 0-3)
+    byte[] direction;
+    // Siguiente dirección pedida (índice 0-3, -1 si no es válida)
+    byte[] nextDirection;
+    // Sprite con el que la vista dibuja al personaje (constantes SPRITE_*)
+    byte[] sprite;
+    // Estrategia de movimiento de los fantasmas (0-2)
+    byte[] strategy;
+    // Tick a partir del cual el fantasma cambia de dirección aunque no esté en un cruce
+    long[] changeDeadline;
+    // Estado del generador aleatorio propio de cada personaje (modo arena, SplitMix64)
+    long[] randomState;
+
+    // Constructor: reserva espacio para 'capacity' personajes (crece si hace falta)
+    EntityStore(int capacity, int size, int speed) {
+        this.size = size;
+        this.speed = speed;
+        x = new int[capacity];
+        y = new int[capacity];
+        previousX = new int[capacity];
+        previousY = new int[capacity];
+        startX = new int[capacity];
+        startY = new int[capacity];
+        velocityX = new int[capacity];
+        velocityY = new int[capacity];
+        direction = new byte[capacity];
+        nextDirection = new byte[capacity];
+        sprite = new byte[capacity];
+        strategy = new byte[capacity];
+        changeDeadline = new long[capacity];
+        randomState = new long[capacity];
+    }
+
+    // Vacía el almacén sin liberar los arrays
+    void clear() {
+        count = 0;
+    }
+
+    // Agrega un personaje en su posición inicial, mirando a la derecha, y devuelve su índice
+    int add(int spriteId, int startX, int startY) {
+        if (count == x.length) {
+            grow(Math.max(4, count * 2));
+        }
+        int i = count++;
+        this.sprite[i] = (byte) spriteId;
+        this.startX[i] = startX;
+        this.startY[i] = startY;
+        this.x[i] = startX;
+        this.y[i] = startY;
+        this.previousX[i] = startX;
+        this.previousY[i] = startY;
+        this.nextDirection[i] = 3;
+        this.strategy[i] = 0;
+        this.changeDeadline[i] = 0;
+        this.randomState[i] = 0;
+        setDirection(i, 3);
+        return i;
+    }
+
+    // Vuelve a poner un personaje en su posición inicial mirando a la derecha
+    void reset(int i) {
+        x[i] = startX[i];
+        y[i] = startY[i];
+        previousX[i] = x[i];
+        previousY[i] = y[i];
+        nextDirection[i] = 3;
+        setDirection(i, 3);
+    }
+
+    // Cambia la dirección de un personaje y su velocidad
+    void setDirection(int i, int dir) {
+        direction[i] = (byte) dir;
+        velocityX[i] = DX[dir] * speed;
+        velocityY[i] = DY[dir] * speed;
+    }
+
+    // Guarda la posición de todos los personajes antes de moverlos
+    void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+    }
+
+    // Avanza un tramo de personajes según su velocidad (bucle simple que el JIT vectoriza)
+    void advance(int from, int to) {
+        int[] x = this.x;
+        int[] y = this.y;
+        int[] velocityX = this.velocityX;
+        int[] velocityY = this.velocityY;
+        for (int i = from; i < to; i++) {
+            x[i] += velocityX[i];
+            y[i] += velocityY[i];
+        }
+    }
+
+    // Siguiente número aleatorio de 64 bits del generador propio de un personaje (SplitMix64).
+    // Cada personaje avanza solo su estado, así que varios hilos pueden usarlo sin bloqueos.
+    long nextLong(int i) {
+        long z = (randomState[i] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Entero aleatorio en [0, bound) del generador propio de un personaje
+    int nextInt(int i, int bound) {
+        return (int) (((nextLong(i) >>> 32) * bound) >>> 32);
+    }
+
+    // Número aleatorio en [0, 1) del generador propio de un personaje
+    double nextDouble(int i) {
+        return (nextLong(i) >>> 11) * 0x1.0p-53;
+    }
+
+    // Agranda todas las columnas
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        startX = Arrays.copyOf(startX, capacity);
+        startY = Arrays.copyOf(startY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        nextDirection = Arrays.copyOf(nextDirection, capacity);
+        sprite = Arrays.copyOf(sprite, capacity);
+        strategy = Arrays.copyOf(strategy, capacity);
+        changeDeadline = Arrays.copyOf(changeDeadline, capacity);
+        randomState = Arrays.copyOf(randomState, capacity);
+    }
+}
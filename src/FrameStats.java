@@ -0,0 +1,84 @@
+// Importa utilidades para ordenar las muestras
+import java.util.Arrays;
+
+// Tiempos entre cuadros del bucle de dibujo (los últimos CAPACITY cuadros) y sus percentiles.
+// Sirve para comparar el ritmo de los dos caminos de dibujo: el temporizador de Swing con
+// paintComponent y el dibujo activo con BufferStrategy (-Dpacman.activeRender=true).
+// También guarda otras duraciones sueltas con add() (por ejemplo, la latencia de entrada).
+final class FrameStats {
+    // Cuadros que se guardan (a 240 FPS, algo más de medio minuto)
+    private static final int CAPACITY = 8192;
+
+    // Nombre de lo que se mide y de cada muestra
+    private final String name;
+    private final String unit;
+    // Nanosegundos entre cada cuadro y el anterior (anillo)
+    private final long[] samples = new long[CAPACITY];
+    // Cuadros medidos en total
+    private long count;
+    // Instante del último cuadro (0 = todavía no hay cuadro anterior)
+    private long lastNanos;
+
+    // Constructor: estadísticas vacías de un camino de dibujo
+    FrameStats(String name) {
+        this(name, "cuadros");
+    }
+
+    // Constructor: estadísticas vacías de otras duraciones ('unit' nombra las muestras)
+    FrameStats(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    // Marca el final de un cuadro en el instante 'now' (System.nanoTime)
+    void frame(long now) {
+        if (lastNanos != 0) {
+            add(now - lastNanos);
+        }
+        lastNanos = now;
+    }
+
+    // Guarda una duración en nanosegundos
+    void add(long nanos) {
+        samples[(int) (count++ % CAPACITY)] = nanos;
+    }
+
+    // El bucle se detuvo: el tiempo hasta el siguiente cuadro no cuenta
+    void pause() {
+        lastNanos = 0;
+    }
+
+    // Descarta todas las muestras
+    void reset() {
+        count = 0;
+        lastNanos = 0;
+    }
+
+    // Cuadros medidos que siguen guardados
+    int size() {
+        return (int) Math.min(count, CAPACITY);
+    }
+
+    // Resumen en milisegundos: media, p50, p95, p99 y máximo
+    String summary() {
+        int n = size();
+        if (n == 0) {
+            return name + ": sin " + unit;
+        }
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        return String.format("%s: %d %s, media %.2f ms, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms",
+                name, n, unit, total / (double) n / 1e6, percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.95) / 1e6, percentile(sorted, 0.99) / 1e6, sorted[n - 1] / 1e6);
+    }
+
+    // Percentil p (0..1) de unas muestras ordenadas (método del rango más cercano)
+    static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
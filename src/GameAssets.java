@@ -0,0 +1,97 @@
+// Importa las clases necesarias para gráficos y fuentes
+import java.awt.*;
+// Importa clase para leer flujos de entrada de datos
+import java.io.InputStream;
+// Importa las tareas de carga en paralelo
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Recursos que el juego necesita antes de mostrar la ventana: la fuente y las imágenes.
+// Se decodifican a la vez en un pool pequeño de hilos (-Dpacman.assetThreads, 4 por defecto):
+// en discos lentos las lecturas se solapan en lugar de esperarse una a otra.
+final class GameAssets {
+    // Color de Pac-Man con el que empieza el juego
+    static final String DEFAULT_COLOR = "amarillo";
+    // Hilos que leen recursos al arrancar
+    private static final int THREADS = Math.max(1, Integer.getInteger("pacman.assetThreads", 4));
+    // Recursos que se cargan (la fuente y los de SpriteCache)
+    static final int TOTAL = 1 + SpriteCache.ASSET_COUNT;
+
+    // Aviso de progreso; se llama desde los hilos de carga
+    interface Progress {
+        void loaded(int done, int total);
+    }
+
+    // Fuente personalizada a tamaño 40 (null si no se pudo leer)
+    final Font font;
+    // Imágenes compartidas y del color inicial (null si no se pudieron leer)
+    final SpriteCache sprites;
+    // Nanosegundos que tardó la carga
+    final long loadNanos;
+    // Hilos usados
+    final int threads;
+
+    private GameAssets(Font font, SpriteCache sprites, long loadNanos, int threads) {
+        this.font = font;
+        this.sprites = sprites;
+        this.loadNanos = loadNanos;
+        this.threads = threads;
+    }
+
+    // Carga todos los recursos en paralelo y espera a que terminen
+    static GameAssets load(int tileSize, int boardWidth, int boardHeight, Progress progress) {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger done = new AtomicInteger();
+        Runnable loaded = () -> {
+            int count = done.incrementAndGet();
+            if (progress != null) {
+                progress.loaded(count, TOTAL);
+            }
+        };
+        try {
+            // La fuente se lee mientras el constructor de la caché reparte y espera las imágenes
+            Future<Font> font = pool.submit(() -> {
+                try {
+                    return loadFont();
+                } finally {
+                    loaded.run();
+                }
+            });
+            SpriteCache sprites = null;
+            try {
+                sprites = new SpriteCache(tileSize, boardWidth, boardHeight, DEFAULT_COLOR, pool, loaded);
+            } catch (Exception e) {
+                System.err.println("Error cargando imágenes: " + e.getMessage());
+                e.printStackTrace();
+            }
+            Font loadedFont = null;
+            try {
+                loadedFont = SpriteCache.get(font);
+            } catch (Exception e) {
+                // loadFont ya informa sus errores; aquí solo llega una interrupción
+            }
+            return new GameAssets(loadedFont, sprites, System.nanoTime() - start, THREADS);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Lee la fuente personalizada y la registra en el sistema (null si falla)
+    private static Font loadFont() {
+        try (InputStream is = GameAssets.class.getResourceAsStream("./PAC-FONT.TTF")) {
+            Font font = Font.createFont(Font.TRUETYPE_FONT, is).deriveFont(40f);
+            GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
+            return font;
+        } catch (Exception e) {
+            System.err.println("Error cargando fuente personalizada: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+// Importa las clases necesarias para gráficos
+import java.awt.*;
+// Importa clase para manejar imágenes en memoria
+import java.awt.image.BufferedImage;
+
+// Dibuja la partida por capas, para que cada cuadro haga solo unas pocas llamadas de dibujo:
+//  - tablero: paredes y comida pre-dibujadas en una imagen; se reconstruye en cada loadMap()
+//    y la comida comida se borra de la imagen comparando el mapa de bits de comida
+//  - personajes: los dibuja la vista en cada cuadro (única capa dinámica)
+//  - marcador: imagen que solo se vuelve a dibujar cuando cambian las vidas o la puntuación
+//  - pantallas de pausa, muerte y fin de juego: imágenes que se crean una vez y se reutilizan
+class GameRenderer {
+    // Colores fijos (no se crean en cada cuadro)
+    private static final Color PAUSE_SHADE = new Color(0, 0, 0, 180);
+    private static final Color GAME_OVER_SHADE = new Color(0, 0, 0, 200);
+    private static final Color FOOD_COLOR = Color.orange;
+    private static final Color HUD_COLOR = Color.GREEN;
+
+    // Dimensiones del tablero en píxeles
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    // Imagen de una pared
+    private final Image wallImage;
+    // Fuentes del marcador y de las pantallas
+    private final Font largeFont;
+    private final Font mediumFont;
+    private final Font smallFont;
+    private final Font numberFont;
+
+    // Capa del tablero: paredes y comida que queda
+    private BufferedImage board;
+    // Mapas de la simulación con los que se dibujó el tablero (cambian en cada loadMap)
+    private TileBitmap boardWalls;
+    private TileBitmap boardFood;
+    // Comida que está dibujada ahora en la capa del tablero
+    private TileBitmap drawnFood;
+
+    // Capa del marcador, su contexto gráfico (se reutiliza) y los valores con los que se dibujó
+    private BufferedImage hud;
+    private Graphics2D hudGraphics;
+    private int hudLives = -1;
+    private int hudScore = -1;
+    // Caracteres del marcador pre-dibujados: la "x" y las cifras con su etiqueta
+    private GlyphAtlas hudLabel;
+    private GlyphAtlas hudNumbers;
+    // Caracteres del número de la pantalla de fin de juego y ancho de su etiqueta
+    private GlyphAtlas gameOverNumbers;
+    private int scoreLabelWidth = -1;
+
+    // Pantallas superpuestas (se crean la primera vez que se usan)
+    private BufferedImage pauseOverlay;
+    private BufferedImage deathOverlay;
+    private BufferedImage gameOverOverlay;
+    private int gameOverScore = -1;
+
+    // Constructor: guarda las imágenes y fuentes que usan las capas
+    GameRenderer(int width, int height, int tileSize, Image wallImage,
+                 Font largeFont, Font mediumFont, Font smallFont, Font numberFont) {
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.wallImage = wallImage;
+        this.largeFont = largeFont;
+        this.mediumFont = mediumFont;
+        this.smallFont = smallFont;
+        this.numberFont = numberFont;
+    }
+
+    // Dibuja el tablero (paredes y comida) con una sola imagen
+    void drawBoard(Graphics g, GameSimulation sim) {
+        if (board == null || sim.wallBits != boardWalls || sim.foodBits != boardFood) {
+            rebuildBoard(sim);
+        } else {
+            updateFood(sim.foodBits, sim.foodOffset, sim.foodSize);
+        }
+        g.drawImage(board, 0, 0, null);
+    }
+
+    // Dibuja de nuevo el tablero completo: solo después de loadMap()
+    private void rebuildBoard(GameSimulation sim) {
+        if (board == null) {
+            board = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D g = board.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, width, height);
+
+        // Paredes (celdas marcadas en el mapa de bits; la imagen ya tiene el tamaño de una celda)
+        TileBitmap walls = sim.wallBits;
+        for (int r = 0; r < walls.rows; r++) {
+            for (int c = walls.nextSetColumn(r, 0); c >= 0; c = walls.nextSetColumn(r, c + 1)) {
+                g.drawImage(wallImage, c * tileSize, r * tileSize, null);
+            }
+        }
+
+        // Comida que queda
+        g.setColor(FOOD_COLOR);
+        TileBitmap food = sim.foodBits;
+        for (int r = 0; r < food.rows; r++) {
+            for (int c = food.nextSetColumn(r, 0); c >= 0; c = food.nextSetColumn(r, c + 1)) {
+                g.fillRect(c * tileSize + sim.foodOffset, r * tileSize + sim.foodOffset, sim.foodSize, sim.foodSize);
+            }
+        }
+        g.dispose();
+
+        boardWalls = walls;
+        boardFood = food;
+        drawnFood = food.copy();
+    }
+
+    // Borra (o vuelve a dibujar) solo las piezas de comida que cambiaron desde el último cuadro
+    private void updateFood(TileBitmap food, int foodOffset, int foodSize) {
+        Graphics2D g = null;
+        for (int r = 0; r < food.rows; r++) {
+            for (int w = 0; w < food.wordsPerRow(); w++) {
+                long changed = food.difference(drawnFood, r, w);
+                while (changed != 0) {
+                    int c = (w << 6) + Long.numberOfTrailingZeros(changed);
+                    changed &= changed - 1;
+                    if (g == null) {
+                        g = board.createGraphics();
+                    }
+                    // La comida nunca está sobre una pared, así que borrar es pintar de negro
+                    g.setColor(food.get(r, c) ? FOOD_COLOR : Color.BLACK);
+                    g.fillRect(c * tileSize + foodOffset, r * tileSize + foodOffset, foodSize, foodSize);
+                }
+            }
+        }
+        if (g != null) {
+            g.dispose();
+            drawnFood.copyFrom(food);
+        }
+    }
+
+    // Dibuja el marcador de vidas y puntuación (se redibuja solo si cambió, sin reservar memoria)
+    void drawHud(Graphics g, int lives, int score) {
+        if (hud == null || lives != hudLives || score != hudScore) {
+            if (hud == null) {
+                hud = new BufferedImage(width, tileSize, BufferedImage.TYPE_INT_ARGB);
+                hudGraphics = hud.createGraphics();
+                hudLabel = new GlyphAtlas(smallFont, HUD_COLOR, "x");
+                hudNumbers = new GlyphAtlas(numberFont, HUD_COLOR, "-0123456789 SCORE:");
+            }
+            Graphics2D h = hudGraphics;
+            h.setComposite(AlphaComposite.Clear);
+            h.fillRect(0, 0, width, tileSize);
+            h.setComposite(AlphaComposite.SrcOver);
+            // "x<vidas> SCORE: <puntuación>"
+            int x = hudLabel.draw(h, "x", tileSize/2, tileSize/2);
+            x = hudNumbers.drawNumber(h, lives, x, tileSize/2);
+            x = hudNumbers.draw(h, " SCORE: ", x, tileSize/2);
+            hudNumbers.drawNumber(h, score, x, tileSize/2);
+            hudLives = lives;
+            hudScore = score;
+        }
+        g.drawImage(hud, 0, 0, null);
+    }
+
+    // Dibuja el mensaje de vida perdida
+    void drawDeathOverlay(Graphics g) {
+        // Solo una franja de dos celdas alrededor del texto, no todo el tablero
+        if (deathOverlay == null) {
+            deathOverlay = new BufferedImage(width, tileSize * 2, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D o = deathOverlay.createGraphics();
+            drawCentered(o, "PERDISTE UNA VIDA", numberFont, Color.RED, tileSize);
+            o.dispose();
+        }
+        g.drawImage(deathOverlay, 0, height/2 - tileSize, null);
+    }
+
+    // Dibuja la pantalla de pausa
+    void drawPauseOverlay(Graphics g) {
+        if (pauseOverlay == null) {
+            pauseOverlay = newOverlay(PAUSE_SHADE);
+            Graphics2D o = pauseOverlay.createGraphics();
+            drawCentered(o, "PAUSA", largeFont, Color.YELLOW, height/2 - 120);
+            drawCentered(o, "Presiona P para continuar", mediumFont, Color.WHITE, height/2 + 260);
+            o.dispose();
+        }
+        g.drawImage(pauseOverlay, 0, 0, null);
+    }
+
+    // Dibuja la pantalla de fin de juego con la puntuación final
+    void drawGameOverOverlay(Graphics g, int score) {
+        if (gameOverOverlay == null || score != gameOverScore) {
+            gameOverOverlay = newOverlay(GAME_OVER_SHADE);
+            Graphics2D o = gameOverOverlay.createGraphics();
+            drawCentered(o, "GAME OVER", largeFont, Color.RED, height/2 - 80);
+
+            // Etiqueta y número con fuentes distintas, centrados juntos
+            String scoreLabel = "PUNTUACION: ";
+            if (gameOverNumbers == null) {
+                gameOverNumbers = new GlyphAtlas(numberFont, Color.YELLOW, "-0123456789");
+                scoreLabelWidth = o.getFontMetrics(mediumFont).stringWidth(scoreLabel);
+            }
+            int startX = (width - scoreLabelWidth - gameOverNumbers.numberWidth(score))/2;
+            o.setColor(Color.YELLOW);
+            o.setFont(mediumFont);
+            o.drawString(scoreLabel, startX, height/2 - 30);
+            gameOverNumbers.drawNumber(o, score, startX + scoreLabelWidth, height/2 - 30);
+            o.dispose();
+            gameOverScore = score;
+        }
+        g.drawImage(gameOverOverlay, 0, 0, null);
+    }
+
+    // Imagen transparente del tamaño del tablero, opcionalmente oscurecida
+    private BufferedImage newOverlay(Color shade) {
+        BufferedImage overlay = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        if (shade != null) {
+            Graphics2D o = overlay.createGraphics();
+            o.setColor(shade);
+            o.fillRect(0, 0, width, height);
+            o.dispose();
+        }
+        return overlay;
+    }
+
+    // Escribe un texto centrado horizontalmente
+    private void drawCentered(Graphics2D g, String text, Font font, Color color, int baseline) {
+        g.setColor(color);
+        g.setFont(font);
+        int textWidth = g.getFontMetrics().stringWidth(text);
+        g.drawString(text, (width - textWidth)/2, baseline);
+    }
+}
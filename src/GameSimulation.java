@@ -0,0 +1,832 @@
+// Importa clase para generar números aleatorios
+import java.util.Random; 
+// Importa utilidades para recortar arrays
+import java.util.Arrays;
+// Importa clases para repartir la actualización de los fantasmas entre hilos
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Núcleo del juego sin interfaz gráfica: laberinto, personajes, puntuación, vidas y estado.
+// No depende de AWT ni de Swing, así que puede ejecutarse sin pantalla (servidores, pruebas, IA).
+// La vista (PacMan) llama a step() en cada tick y solo dibuja el resultado.
+public class GameSimulation {
+    // Sprites que la vista usa para dibujar cada personaje
+    static final int SPRITE_PACMAN = 0;
+    static final int SPRITE_BLUE_GHOST = 1;
+    static final int SPRITE_ORANGE_GHOST = 2;
+    static final int SPRITE_PINK_GHOST = 3;
+    static final int SPRITE_RED_GHOST = 4;
+
+    // Eventos que devuelve step() para que la vista reaccione (sonidos, botones)
+    static final int EVENT_PLAYER_DIED = 1;
+    static final int EVENT_RESPAWNED = 2;
+    static final int EVENT_GAME_OVER = 4;
+    static final int EVENT_LEVEL_CLEARED = 8;
+
+    // Duración del tick en milisegundos (~60 ticks por segundo)
+    static final int TICK_MILLIS = 16;
+    // Duración del tick en nanosegundos (paso fijo del bucle de juego)
+    static final long TICK_NANOS = TICK_MILLIS * 1_000_000L;
+    // Ticks de pausa después de perder una vida (1 segundo)
+    static final int DEATH_PAUSE_TICKS = 1000 / TICK_MILLIS;
+
+    // Índice de Pac-Man en el almacén de personajes (los fantasmas van del 1 en adelante)
+    static final int PACMAN = 0;
+    static final int FIRST_GHOST = 1;
+
+    // Constructor: cada partida usa una semilla distinta
+    public GameSimulation() {
+        this.seedSource = new Random();
+    }
+
+    // Constructor determinista: la secuencia de partidas depende solo de la semilla
+    public GameSimulation(long seed) {
+        this.seedSource = new Random(seed);
+    }
+
+    // Estado actual del juego
+    GameState gameState = GameState.MAIN_MENU; 
+    // Ticks que faltan para terminar la pausa de muerte
+    int deathTicks; 
+    // Reloj virtual: ticks simulados desde que se creó la simulación (no avanza en pausa)
+    long tick; 
+    // Eventos ocurridos durante el tick actual
+    private int events; 
+
+    // Número de filas en el tablero
+    int rowCount = 21; 
+    // Número de columnas en el tablero
+    int columnCount = 19; 
+    // Tamaño en píxeles de cada celda del tablero
+    int tileSize = 32; 
+    // Ancho total del tablero en píxeles
+    int boardWidth = columnCount * tileSize; 
+    // Alto total del tablero en píxeles
+    int boardHeight = rowCount * tileSize; 
+    // Desplazamiento de la comida dentro de su celda en píxeles
+    int foodOffset = 14; 
+    // Tamaño de cada pieza de comida en píxeles
+    int foodSize = 4; 
+    
+
+    // Mapa del juego representado como un array de Strings
+    String[] tileMap = {
+        "XXXXXXXXXXXXXXXXXXX", // X = Pared
+        "X        X        X", // Espacio = Comida
+        "X XX XXX X XXX XX X",  // P = Posición inicial de Pac-Man
+        "X                 X", // b = Fantasma azul
+        "X XX X XXXXX X XX X", // o = Fantasma naranja
+        "X    X       X    X", // p = Fantasma rosa
+        "XXXX XXXX XXXX XXXX", // r = Fantasma rojo
+        "OOOX X       X XOOO",  // O = Comida especial (no implementada)
+        "XXXX X XXrXX X XXXX",
+        "O       bpo       O",
+        "XXXX X XXXXX X XXXX",
+        "OOOX X       X XOOO",
+        "XXXX X XXXXX X XXXX",
+        "X        X        X",
+        "X XX XXX X XXX XX X",
+        "X  X     P     X  X",
+        "XX X X XXXXX X X XX",
+        "X    X   X   X    X",
+        "X XXXXXX X XXXXXX X",
+        "X                 X",
+        "XXXXXXXXXXXXXXXXXXX" 
+    };
+    
+    // Mapa de bits con las celdas ocupadas por paredes (para colisiones rápidas)
+    TileBitmap wallBits; 
+    // Laberinto compilado: salidas legales por celda y grafo de cruces
+    MazeGraph mazeGraph; 
+    // Distancias de cada celda hacia Pac-Man, compartidas por todos los fantasmas
+    DistanceField chaseField; 
+    // Tabla precalculada de caminos más cortos entre todas las celdas
+    PathTable pathTable; 
+    // Mapa de bits con las celdas que todavía tienen comida
+    TileBitmap foodBits; 
+    // Cantidad de comida que queda en el tablero
+    int foodRemaining; 
+    // Pac-Man y los fantasmas (en el orden del tileMap, el mismo en todas las ejecuciones)
+    EntityStore entities; 
+    // Rejilla espacial con la posición de cada fantasma (por índice en entities)
+    SpatialHash ghostHash; 
+    // Buffer reutilizable para los resultados de las consultas a la rejilla
+    int[] nearbyGhosts; 
+    // Si está activo, los fantasmas no pueden superponerse entre sí (se activa en modo arena)
+    boolean ghostSeparation = false; 
+    // Modo arena: total de fantasmas a crear en las casillas b/o/p/r del mapa (0 = juego normal).
+    // En arena cada fantasma usa su propio generador aleatorio, así que el resultado no depende
+    // del orden ni del número de hilos que los actualizan.
+    int arenaGhosts = 0; 
+    // Hilos que actualizan a los fantasmas (null = se actualizan en el hilo de la simulación)
+    private ForkJoinPool ghostWorkers; 
+    // Tramos fijos de fantasmas que se reparten entre los hilos
+    private GhostChunk[] ghostChunks; 
+    // Fantasma que tocó a Pac-Man en el último tick (-1 si ninguno)
+    int lastHitGhost = -1; 
+
+    // Array con las posibles direcciones (Arriba, Abajo, Izquierda, Derecha)
+    char[] directions = {'U', 'D', 'L', 'R'};
+    // Desplazamiento horizontal de cada dirección (mismo orden que directions)
+    int[] directionDX = {0, 0, -1, 1};
+    // Desplazamiento vertical de cada dirección (mismo orden que directions)
+    int[] directionDY = {-1, 1, 0, 0};
+    // Objeto para generar números aleatorios (se reinicia con la semilla de cada partida)
+    Random random = new Random(); 
+    // Parámetros de las estrategias de los fantasmas
+    GhostTuning tuning = GhostTuning.DEFAULT; 
+    // Generador de las semillas de cada partida
+    private final Random seedSource; 
+    // Semilla de la partida actual
+    long seed; 
+    // Registro de las direcciones pedidas en cada tick (null = no se graba)
+    InputLog inputLog; 
+    // Ticks que se guarda una dirección pedida que todavía no se puede tomar (0 = hasta que se pueda)
+    int preTurnTicks; 
+    // Último tick en que se intenta la dirección pedida
+    private long preTurnDeadline; 
+    // Tiempos de cada fase de move() (null = no se mide)
+    TickProfiler profiler; 
+    
+    // Puntuación actual del jugador
+    int score = 0;  
+    // Vidas restantes del jugador
+    int lives = 3; 
+    // Indica si se debe mostrar a Pac-Man (para animación de muerte)
+    boolean showPacman = true; 
+    
+    // =============================================
+    // LÓGICA DEL JUEGO
+    // =============================================
+
+    // Avanza la simulación un tick con la dirección pedida por el jugador (0 = sin cambios).
+    // Devuelve los eventos EVENT_* ocurridos durante el tick.
+    public int step(char input) {
+        events = 0;
+        tick++;
+        if (gameState == GameState.PLAYING) {
+            if (input != 0) {
+                entities.nextDirection[PACMAN] = (byte) directionIndex(input);
+                // Se intenta en este tick y en los preTurnTicks - 1 siguientes
+                preTurnDeadline = tick + preTurnTicks - 1;
+                // Graba la dirección con el tick en que se aplicó
+                if (inputLog != null) {
+                    inputLog.record(tick, input);
+                }
+            }
+            entities.savePreviousPositions();
+            move();
+        } else if (gameState == GameState.PLAYER_DIED && --deathTicks <= 0) {
+            // Termina la pausa tras perder una vida
+            if (lives <= 0) {
+                gameState = GameState.GAME_OVER;
+                events |= EVENT_GAME_OVER;
+            } else {
+                resetPositions();
+                gameState = GameState.PLAYING;
+                showPacman = true;
+                events |= EVENT_RESPAWNED;
+            }
+        }
+        return events;
+    }
+
+    // Huella del estado de la partida (para comprobar que una repetición es idéntica)
+    long stateHash() {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, tick);
+        h = mix(h, score);
+        h = mix(h, lives);
+        h = mix(h, gameState.ordinal());
+        h = mix(h, foodRemaining);
+        // Pac-Man primero y después los fantasmas, con la dirección como letra
+        for (int i = 0; i < entities.count; i++) {
+            h = mix(h, entities.x[i]);
+            h = mix(h, entities.y[i]);
+            h = mix(h, directions[entities.direction[i]]);
+        }
+        return h;
+    }
+
+    // Combina un valor en la huella (FNV-1a)
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x100000001b3L;
+    }
+
+    // Intervalo aleatorio entre cambios de dirección: de 1 a 3 segundos, en ticks
+    int randomChangeInterval() {
+        return (1000 + random.nextInt(2000)) / TICK_MILLIS;
+    }
+
+    // Sortea la estrategia y el próximo cambio de dirección de un personaje
+    private void assignStrategy(int i) {
+        entities.strategy[i] = (byte) tuning.pickStrategy(random);
+        entities.changeDeadline[i] = tick + randomChangeInterval();
+    }
+
+    // Empieza una partida nueva desde cero con una semilla nueva
+    public void startNewGame() {
+        startNewGame(seedSource.nextLong());
+    }
+
+    // Empieza una partida nueva desde cero con una semilla concreta.
+    // Con la misma semilla y las mismas direcciones en los mismos ticks, la partida es idéntica.
+    public void startNewGame(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        tick = 0;
+        preTurnDeadline = 0;
+        score = 0;
+        lives = 3;
+        showPacman = true;
+        loadMap();
+        resetPositions();
+        gameState = GameState.PLAYING;
+    }
+
+    // Método principal de movimiento que se ejecuta en cada tick
+    void move() {
+        // Solo se mueve si el estado es PLAYING
+        if (gameState != GameState.PLAYING) return;
+        // Con perfil, en los ticks que toca se mide cada fase (null = este tick no se mide)
+        TickProfiler sampled = profiler != null && profiler.sampleTick() ? profiler : null;
+        long start = sampled != null ? System.nanoTime() : 0;
+        
+        // Mueve a Pac-Man
+        movePacman(); 
+        if (sampled != null) start = sampled.record(TickProfiler.MOVE_PACMAN, start);
+        // Actualiza el camino hacia Pac-Man si cambió de celda
+        updateChaseField(); 
+        if (sampled != null) start = sampled.record(TickProfiler.CHASE_FIELD, start);
+        // Mueve los fantasmas
+        moveGhosts(); 
+        if (sampled != null) start = sampled.record(TickProfiler.MOVE_GHOSTS, start);
+        // Verifica si Pac-Man ha comido comida
+        checkFoodCollision(); 
+        if (sampled != null) sampled.record(TickProfiler.CHECK_FOOD, start);
+    }
+
+    // Mueve a Pac-Man según su dirección actual
+    private void movePacman() {
+        EntityStore e = entities;
+        // Intenta cambiar de dirección si hay una solicitud diferente a la actual
+        if (e.nextDirection[PACMAN] != e.direction[PACMAN]) {
+            tryChangeDirection();
+            // El giro anticipado caduca si no se pudo tomar en preTurnTicks ticks
+            if (preTurnTicks > 0 && tick >= preTurnDeadline) {
+                e.nextDirection[PACMAN] = e.direction[PACMAN];
+            }
+        }
+        // Guarda la posición anterior
+        int oldX = e.x[PACMAN];
+        int oldY = e.y[PACMAN];
+        // Actualiza la posición según la velocidad
+        e.x[PACMAN] += e.velocityX[PACMAN];
+        e.y[PACMAN] += e.velocityY[PACMAN];
+        // Verifica colisión con paredes
+        if (checkWallCollision(PACMAN)) {
+            // Si hay colisión, revierte el movimiento
+            e.x[PACMAN] = oldX;
+            e.y[PACMAN] = oldY;
+        }
+        // Verifica si debe teletransportarse al otro lado del tablero
+        checkBoardBounds(PACMAN);
+    }
+
+    // Intenta cambiar la dirección de Pac-Man
+    void tryChangeDirection() {
+        EntityStore e = entities;
+        int dir = e.nextDirection[PACMAN];
+        if (dir < 0) {
+            return;
+        }
+        // Alineado a una celda basta con leer sus salidas; entre celdas se sondea la pared
+        int tile = alignedTile(PACMAN);
+        boolean legal = tile != -1
+            ? (mazeGraph.exits(tile) & (1 << dir)) != 0
+            : canMove(e.x[PACMAN], e.y[PACMAN], e.size, e.size, dir, e.speed);
+        // Si la nueva dirección no choca con una pared, se acepta el cambio
+        if (legal) {
+            e.setDirection(PACMAN, dir);
+        }
+    }
+
+    // Índice de una dirección en el array directions (-1 si no es válida)
+    static int directionIndex(char direction) {
+        switch (direction) {
+            case 'U': return 0;
+            case 'D': return 1;
+            case 'L': return 2;
+            case 'R': return 3;
+            default: return -1;
+        }
+    }
+
+    // Verifica si un rectángulo puede avanzar 'speed' píxeles en una dirección sin chocar
+    private boolean canMove(int x, int y, int width, int height, int dir, int speed) {
+        return !wallBits.overlaps(x + directionDX[dir] * speed, y + directionDY[dir] * speed, width, height, tileSize);
+    }
+
+    // Elige al azar una de las direcciones marcadas en la máscara (bit 0 = U ... bit 3 = R)
+    private int randomDirection(int ghost, int mask) {
+        int pick = ghostRandom(ghost, Integer.bitCount(mask));
+        for (int dir = 0; dir < 4; dir++) {
+            if ((mask & (1 << dir)) != 0 && pick-- == 0) {
+                return dir;
+            }
+        }
+        return 0;
+    }
+
+    // Verifica si un personaje colisiona con alguna pared
+    boolean checkWallCollision(int i) {
+        // Solo consulta las celdas que cubre el personaje en el mapa de bits
+        return wallBits.overlaps(entities.x[i], entities.y[i], entities.size, entities.size, tileSize);
+    }
+
+    // Verifica los bordes del tablero para teletransporte
+    private void checkBoardBounds(int i) {
+        int[] x = entities.x;
+        // Si se sale por la izquierda
+        if (x[i] < -entities.size) {
+            x[i] = boardWidth; // Aparece por la derecha
+        } 
+        // Si se sale por la derecha
+        else if (x[i] > boardWidth) {
+            x[i] = -entities.size; // Aparece por la izquierda
+        }
+    }
+
+    // Fantasmas por tramo de la actualización en paralelo
+    private static final int GHOSTS_PER_CHUNK = 512;
+
+    // Tramo de fantasmas que actualiza un hilo; se reutiliza en cada tick (nunca se serializa)
+    @SuppressWarnings("serial")
+    private final class GhostChunk extends RecursiveAction {
+        final int from;
+        final int to;
+        // Buffer propio para las consultas a la rejilla espacial
+        final int[] nearby;
+
+        GhostChunk(int from, int to, int capacity) {
+            this.from = from;
+            this.to = to;
+            this.nearby = new int[capacity];
+        }
+
+        @Override
+        protected void compute() {
+            updateGhosts(from, to, nearby);
+        }
+    }
+
+    // Tarea que lanza todos los tramos y espera a que terminen
+    private final RecursiveAction allGhostChunks = new RecursiveAction() {
+        @Override
+        protected void compute() {
+            invokeAll(ghostChunks);
+        }
+    };
+
+    // Cambia el número de hilos que actualizan a los fantasmas (1 = sin hilos extra)
+    void setGhostThreads(int threads) {
+        if (ghostWorkers != null) {
+            ghostWorkers.shutdown();
+        }
+        ghostWorkers = threads > 1 ? new ForkJoinPool(threads) : null;
+        ghostChunks = null;
+    }
+
+    // Mueve todos los fantasmas del juego. Cada tramo lee el estado del tick anterior
+    // (la rejilla espacial no se toca mientras tanto) y escribe solo sus propios fantasmas,
+    // así que los tramos pueden ir en paralelo sin bloqueos. Después, en un solo hilo,
+    // se actualiza la rejilla y se busca en ella el choque con Pac-Man.
+    private void moveGhosts() {
+        EntityStore e = entities;
+        int count = e.count;
+
+        if (ghostWorkers == null || count - FIRST_GHOST <= GHOSTS_PER_CHUNK) {
+            updateGhosts(FIRST_GHOST, count, nearbyGhosts);
+        } else {
+            if (ghostChunks == null) {
+                ghostChunks = createGhostChunks(count);
+            }
+            for (GhostChunk chunk : ghostChunks) {
+                chunk.reinitialize();
+            }
+            allGhostChunks.reinitialize();
+            ghostWorkers.invoke(allGhostChunks);
+        }
+
+        // Actualiza la posición de cada fantasma en la rejilla espacial (la leen este choque
+        // y la separación del tick siguiente)
+        for (int ghost = FIRST_GHOST; ghost < count; ghost++) {
+            ghostHash.move(ghost, e.x[ghost], e.y[ghost]);
+        }
+
+        int firstHit = firstGhostTouching(PACMAN);
+        lastHitGhost = firstHit;
+        if (firstHit != -1 && gameState == GameState.PLAYING) {
+            playerDied();
+        }
+    }
+
+    // Divide a los fantasmas en tramos fijos (los mismos para cualquier número de hilos)
+    private GhostChunk[] createGhostChunks(int count) {
+        int ghosts = count - FIRST_GHOST;
+        GhostChunk[] chunks = new GhostChunk[(ghosts + GHOSTS_PER_CHUNK - 1) / GHOSTS_PER_CHUNK];
+        for (int i = 0; i < chunks.length; i++) {
+            int from = FIRST_GHOST + i * GHOSTS_PER_CHUNK;
+            chunks[i] = new GhostChunk(from, Math.min(count, from + GHOSTS_PER_CHUNK), count);
+        }
+        return chunks;
+    }
+
+    // Fantasma de menor índice que se superpone con un personaje (-1 si ninguno), con una sola
+    // consulta a la rejilla: solo se miran los fantasmas de las celdas de alrededor.
+    // El menor índice hace que el resultado no dependa del orden de la rejilla ni de los hilos.
+    private int firstGhostTouching(int i) {
+        int size = entities.size;
+        int found = ghostHash.query(entities.x[i], entities.y[i], size, size, nearbyGhosts);
+        int first = -1;
+        for (int k = 0; k < found; k++) {
+            if (first == -1 || nearbyGhosts[k] < first) {
+                first = nearbyGhosts[k];
+            }
+        }
+        return first;
+    }
+
+    // Actualiza los fantasmas [from, to) en tres pasadas sobre las columnas del almacén:
+    // decisiones (solo los alineados a la rejilla), avance de posiciones y túnel/separación.
+    private void updateGhosts(int from, int to, int[] nearby) {
+        EntityStore e = entities;
+
+        // 1) Decisiones: los fantasmas solo deciden al llegar exactamente a una celda
+        for (int ghost = from; ghost < to; ghost++) {
+            int tile = alignedTile(ghost);
+            if (tile == -1) {
+                continue;
+            }
+            // Salidas legales de la celda (una sola lectura del laberinto compilado)
+            int exits = mazeGraph.exits(tile);
+            int dir = e.direction[ghost];
+            // Cambio de dirección periódico (aunque no haya cruce)
+            boolean timeToChange = tick > e.changeDeadline[ghost];
+            
+            if (mazeGraph.isJunction(tile) || timeToChange) {
+                // Elegir nueva dirección según personalidad del fantasma
+                dir = chooseNewDirection(ghost, exits);
+                if (timeToChange) {
+                    e.changeDeadline[ghost] = tick + (1000 + ghostRandom(ghost, 2000)) / TICK_MILLIS; // 1-3 segundos
+                }
+            } else if ((exits & (1 << dir)) == 0) {
+                // Esquina de un pasillo: sigue la única salida que no es volver atrás
+                dir = MazeGraph.corridorExit(exits, dir);
+            }
+            e.setDirection(ghost, dir);
+        }
+
+        // 2) Avance de todos los fantasmas según su velocidad
+        e.advance(from, to);
+
+        // 3) Túnel y separación
+        for (int ghost = from; ghost < to; ghost++) {
+            // Aplica teletransporte si llega a los bordes
+            checkBoardBounds(ghost);
+            
+            // Si hay separación, no puede entrar encima de otro fantasma (posiciones del tick anterior)
+            if (ghostSeparation && newlyOverlapsOtherGhost(ghost, nearby)) {
+                e.x[ghost] = e.previousX[ghost];
+                e.y[ghost] = e.previousY[ghost];
+                // Se da la vuelta para apartarse del otro fantasma
+                e.setDirection(ghost, MazeGraph.reverse(e.direction[ghost]));
+            }
+        }
+    }
+
+    // Entero aleatorio en [0, bound) para un fantasma: en arena usa el generador propio del
+    // fantasma (seguro entre hilos); en el juego normal, el de la partida
+    private int ghostRandom(int ghost, int bound) {
+        return arenaGhosts > 0 ? entities.nextInt(ghost, bound) : random.nextInt(bound);
+    }
+
+    // Número aleatorio en [0, 1) para un fantasma (mismo criterio que ghostRandom)
+    private double ghostRandomDouble(int ghost) {
+        return arenaGhosts > 0 ? entities.nextDouble(ghost) : random.nextDouble();
+    }
+
+    // Celda en la que está un personaje alineado a la rejilla (-1 si está entre celdas o fuera del tablero)
+    private int alignedTile(int i) {
+        int x = entities.x[i];
+        int y = entities.y[i];
+        if (x % tileSize != 0 || y % tileSize != 0) {
+            return -1;
+        }
+        int column = x / tileSize;
+        int row = y / tileSize;
+        if (column < 0 || column >= columnCount || row < 0 || row >= rowCount) {
+            return -1;
+        }
+        return row * columnCount + column;
+    }
+
+    // Verifica si un fantasma, con su nueva posición, se superpone con otro fantasma con el que
+    // no se superponía en el tick anterior. Los que ya estaban encimados (por ejemplo, al salir
+    // todos de la misma casilla) pueden moverse libremente hasta separarse; si no, se
+    // devolverían unos a otros a la casilla de salida en cada tick.
+    private boolean newlyOverlapsOtherGhost(int ghost, int[] nearby) {
+        EntityStore e = entities;
+        int size = e.size;
+        int found = ghostHash.query(e.x[ghost], e.y[ghost], size, size, nearby);
+        int previousX = e.previousX[ghost];
+        int previousY = e.previousY[ghost];
+        for (int i = 0; i < found; i++) {
+            int other = nearby[i];
+            // La rejilla todavía tiene la posición anterior de este mismo fantasma
+            if (other == ghost) {
+                continue;
+            }
+            // La rejilla guarda la posición del otro en el tick anterior (su previousX/previousY)
+            boolean overlappedBefore = previousX < e.previousX[other] + size && previousX + size > e.previousX[other] &&
+                                       previousY < e.previousY[other] + size && previousY + size > e.previousY[other];
+            if (!overlappedBefore) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Elige una nueva dirección (0-3) para un fantasma entre las salidas de su celda
+    // (máscara de salidas del laberinto compilado, bit 0 = U ... bit 3 = R)
+    int chooseNewDirection(int ghost, int possibleDirections) {
+        // Si no hay direcciones posibles, elige aleatoria
+        if (possibleDirections == 0) {
+            return ghostRandom(ghost, 4);
+        }
+        
+        // Decide según la estrategia de movimiento del fantasma
+        switch (entities.strategy[ghost]) {
+            case 0: // Perseguidor agresivo
+                if (ghostRandomDouble(ghost) < tuning.chaseProbability) { // Probabilidad de perseguir (70% por defecto)
+                    return chasePacMan(ghost, possibleDirections);
+                }
+                break;
+                
+            case 1: // Explorador
+                if (ghostRandomDouble(ghost) < tuning.ambushProbability) { // Probabilidad de emboscar (30% por defecto)
+                    return ambushPacMan(ghost, possibleDirections);
+                }
+                break;
+                
+            case 2: // Aleatorio con preferencia por dirección actual
+                int current = entities.direction[ghost];
+                if (ghostRandomDouble(ghost) < tuning.keepDirectionProbability && (possibleDirections & (1 << current)) != 0) {
+                    return current; // Mantiene la dirección (50% por defecto)
+                }
+                break;
+        }
+        
+        // Dirección aleatoria entre las posibles
+        return randomDirection(ghost, possibleDirections);
+    }
+
+    // Persigue a Pac-Man por el camino más corto usando el campo de distancias compartido
+    private int chasePacMan(int ghost, int possibleDirections) {
+        int tile = alignedTile(ghost);
+        int best = tile != -1 ? chaseField.bestDirection(tile, possibleDirections) : -1;
+        if (best != -1) {
+            return best;
+        }
+        
+        // Si no puede perseguir (fuera de la rejilla o sin camino), elige aleatoria
+        return randomDirection(ghost, possibleDirections);
+    }
+
+    // Embosca a Pac-Man: va hacia la celda que está 4 casillas por delante de él
+    private int ambushPacMan(int ghost, int possibleDirections) {
+        int ghostTile = alignedTile(ghost);
+        int pacmanTile = chaseField.target();
+        if (ghostTile != -1 && pacmanTile != -1) {
+            int target = tileAhead(pacmanTile, entities.direction[PACMAN], 4);
+            // Una sola lectura de la tabla de caminos precalculada
+            int dir = pathTable.nextDirection(ghostTile, target);
+            if (dir != -1 && (possibleDirections & (1 << dir)) != 0) {
+                return dir;
+            }
+        }
+        
+        // Si ya está en la celda objetivo o no hay camino, persigue directamente
+        return chasePacMan(ghost, possibleDirections);
+    }
+
+    // Celda a 'steps' casillas en una dirección, deteniéndose antes de una pared
+    private int tileAhead(int tile, int dir, int steps) {
+        for (int i = 0; i < steps && (mazeGraph.exits(tile) & (1 << dir)) != 0; i++) {
+            tile = mazeGraph.step(tile, dir);
+        }
+        return tile;
+    }
+
+    // Recalcula el campo de distancias solo cuando Pac-Man entra en otra celda
+    private void updateChaseField() {
+        // Celda que contiene el centro de Pac-Man (con el túnel horizontal)
+        int half = entities.size / 2;
+        int row = Math.max(0, Math.min(rowCount - 1, Math.floorDiv(entities.y[PACMAN] + half, tileSize)));
+        int column = Math.floorMod(Math.floorDiv(entities.x[PACMAN] + half, tileSize), columnCount);
+        int tile = row * columnCount + column;
+        if (tile != chaseField.target()) {
+            chaseField.recompute(tile);
+        }
+    }
+
+    // Maneja la muerte del jugador
+    private void playerDied() {
+        lives--;
+        showPacman = false;
+        gameState = GameState.PLAYER_DIED;
+        // La vista reproduce el sonido y muestra el mensaje durante la pausa
+        deathTicks = DEATH_PAUSE_TICKS;
+        events |= EVENT_PLAYER_DIED;
+    }
+
+    // Verifica si Pac-Man ha comido comida
+    void checkFoodCollision() {
+        // Solo revisa las celdas (máximo 2x2) que cubre Pac-Man
+        int x = entities.x[PACMAN];
+        int y = entities.y[PACMAN];
+        int size = entities.size;
+        int firstRow = Math.floorDiv(y, tileSize);
+        int lastRow = Math.floorDiv(y + size - 1, tileSize);
+        int firstColumn = Math.floorDiv(x, tileSize);
+        int lastColumn = Math.floorDiv(x + size - 1, tileSize);
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                if (!foodBits.get(r, c)) {
+                    continue;
+                }
+                // Posición de la comida dentro de la celda
+                int foodX = c * tileSize + foodOffset;
+                int foodY = r * tileSize + foodOffset;
+                // Misma prueba que collision() contra el rectángulo de la comida
+                if (x < foodX + foodSize && x + size > foodX &&
+                    y < foodY + foodSize && y + size > foodY) {
+                    foodBits.clear(r, c);
+                    foodRemaining--;
+                    score += 10;
+                }
+            }
+        }
+        
+        // Si no queda comida, recarga el mapa
+        if (foodRemaining == 0) {
+            loadMap();
+            resetPositions();
+            events |= EVENT_LEVEL_CLEARED;
+        }
+    }
+
+    // Verifica colisión entre dos personajes (por índice en entities)
+    public boolean collision(int a, int b) {
+        EntityStore e = entities;
+        return e.x[a] < e.x[b] + e.size &&
+               e.x[a] + e.size > e.x[b] &&
+               e.y[a] < e.y[b] + e.size &&
+               e.y[a] + e.size > e.y[b];
+    }
+
+    // Reinicia las posiciones de Pac-Man y los fantasmas
+    public void resetPositions() {
+        entities.reset(PACMAN);
+        assignStrategy(PACMAN);
+        for (int ghost = FIRST_GHOST; ghost < entities.count; ghost++) {
+            entities.reset(ghost);
+            assignStrategy(ghost);
+            entities.setDirection(ghost, random.nextInt(4));
+            ghostHash.move(ghost, entities.x[ghost], entities.y[ghost]);
+        }
+    }
+
+    // Carga el mapa del juego desde tileMap
+    public void loadMap() {
+        // Se reutiliza el almacén de personajes entre niveles y partidas
+        if (entities == null) {
+            entities = new EntityStore(8, tileSize, 4);
+        }
+        entities.clear();
+        // Pac-Man siempre ocupa el índice 0; se completa al encontrarlo en el mapa
+        entities.add(SPRITE_PACMAN, 0, 0);
+        // Construye el mapa de bits de paredes a partir del tileMap
+        wallBits = TileBitmap.fromTileMap(tileMap, rowCount, columnCount, 'X');
+        // Compila las salidas de cada celda y el grafo de cruces (con el túnel)
+        mazeGraph = new MazeGraph(wallBits);
+        // Campo de distancias hacia Pac-Man (se calcula cuando se conozca su celda)
+        chaseField = new DistanceField(mazeGraph);
+        // La tabla de caminos solo se abre (o calcula) si el laberinto cambió
+        if (pathTable == null || !pathTable.matches(mazeGraph)) {
+            pathTable = PathTable.shared(mazeGraph);
+        }
+        // Construye el mapa de bits de comida (cada espacio vacío tiene una pieza)
+        foodBits = TileBitmap.fromTileMap(tileMap, rowCount, columnCount, ' ');
+        foodRemaining = foodBits.count();
+
+        // Recorre cada celda del mapa
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                char tileMapChar = tileMap[r].charAt(c);
+                int x = c * tileSize;
+                int y = r * tileSize;
+
+                // Crea el personaje correspondiente según el carácter
+                switch (tileMapChar) {
+                    case 'b': // Fantasma azul
+                        assignStrategy(entities.add(SPRITE_BLUE_GHOST, x, y));
+                        break;
+                    case 'o': // Fantasma naranja
+                        assignStrategy(entities.add(SPRITE_ORANGE_GHOST, x, y));
+                        break;
+                    case 'p': // Fantasma rosa
+                        assignStrategy(entities.add(SPRITE_PINK_GHOST, x, y));
+                        break;
+                    case 'r': // Fantasma rojo
+                        assignStrategy(entities.add(SPRITE_RED_GHOST, x, y));
+                        break;
+                    case 'P': // Pac-Man
+                        entities.startX[PACMAN] = x;
+                        entities.startY[PACMAN] = y;
+                        entities.reset(PACMAN);
+                        assignStrategy(PACMAN);
+                        break;
+                }
+            }
+        }
+
+        // Modo arena: completa el total de fantasmas repartiéndolos por las celdas libres, de la más
+        // cercana a las casillas de salida a la más lejana (una multitud, no cuatro montones)
+        int spawnCount = entities.count - FIRST_GHOST;
+        if (arenaGhosts > spawnCount && spawnCount > 0) {
+            int[] tiles = arenaTiles(spawnCount);
+            for (int i = spawnCount; i < arenaGhosts; i++) {
+                int tile = tiles[i % tiles.length];
+                int sprite = entities.sprite[FIRST_GHOST + i % spawnCount];
+                assignStrategy(entities.add(sprite, tile % columnCount * tileSize, tile / columnCount * tileSize));
+            }
+        }
+        // En arena cada fantasma recibe la semilla de su propio generador
+        if (arenaGhosts > 0) {
+            for (int ghost = FIRST_GHOST; ghost < entities.count; ghost++) {
+                entities.randomState[ghost] = random.nextLong();
+            }
+        }
+        // Los tramos de la actualización en paralelo se recalculan con el nuevo número de fantasmas
+        ghostChunks = null;
+
+        // Registra cada fantasma en la rejilla espacial
+        ghostHash = new SpatialHash(rowCount, columnCount, tileSize, entities.count);
+        nearbyGhosts = new int[entities.count];
+        for (int ghost = FIRST_GHOST; ghost < entities.count; ghost++) {
+            ghostHash.insert(ghost, entities.x[ghost], entities.y[ghost], entities.size, entities.size);
+        }
+    }
+
+    // Celdas donde aparecen los fantasmas del modo arena: todas las transitables que se alcanzan
+    // desde las casillas de salida, por distancia (búsqueda en anchura; primero las casillas de
+    // los 'spawnCount' fantasmas del mapa). Se dejan libres las cercanas a Pac-Man para que la
+    // partida no empiece con un choque.
+    private int[] arenaTiles(int spawnCount) {
+        int pacmanColumn = entities.startX[PACMAN] / tileSize;
+        int pacmanRow = entities.startY[PACMAN] / tileSize;
+        int[] order = new int[rowCount * columnCount];
+        boolean[] seen = new boolean[order.length];
+        int count = 0;
+        for (int ghost = FIRST_GHOST; ghost < FIRST_GHOST + spawnCount; ghost++) {
+            int tile = entities.startY[ghost] / tileSize * columnCount + entities.startX[ghost] / tileSize;
+            if (!seen[tile]) {
+                seen[tile] = true;
+                order[count++] = tile;
+            }
+        }
+        int spawns = count;
+        int kept = 0;
+        for (int head = 0; head < count; head++) {
+            int tile = order[head];
+            for (int dir = 0; dir < 4; dir++) {
+                if ((mazeGraph.exits(tile) & (1 << dir)) == 0) {
+                    continue;
+                }
+                int next = mazeGraph.step(tile, dir);
+                if (next != -1 && !seen[next]) {
+                    seen[next] = true;
+                    order[count++] = next;
+                }
+            }
+            // Las casillas de salida siempre valen; las demás, lejos de Pac-Man
+            int distance = Math.abs(tile % columnCount - pacmanColumn) + Math.abs(tile / columnCount - pacmanRow);
+            if (head < spawns || distance > 3) {
+                order[kept++] = tile;
+            }
+        }
+        return Arrays.copyOf(order, kept);
+    }
+}
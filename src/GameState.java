@@ -0,0 +1,10 @@
+// Enumeración que define los posibles estados del juego
+// (la simulación maneja PLAYING, PLAYER_DIED y GAME_OVER; la vista el resto)
+enum GameState {
+    MAIN_MENU,       // Estado cuando se muestra el menú principal
+    COLOR_SELECTION,  // Estado para seleccionar color de Pac-Man
+    PLAYING,          // Estado cuando el juego está en curso
+    PAUSED,          // Estado cuando el juego está pausado
+    GAME_OVER,       // Estado cuando el juego termina
+    PLAYER_DIED       // Estado cuando el jugador pierde una vida
+}
@@ -0,0 +1,76 @@
+// Importa clase para generar números aleatorios
+import java.util.Random;
+
+// Parámetros del comportamiento de los fantasmas (inmutables, se pueden compartir entre hilos).
+// Sirve para comparar variantes de las estrategias en partidas sin pantalla.
+final class GhostTuning {
+    // Valores originales del juego: estrategias 0/1/2 igual de probables, 70% / 30% / 50%
+    static final GhostTuning DEFAULT = new GhostTuning(new int[] {1, 1, 1}, 0.7, 0.3, 0.5);
+
+    // Peso de cada estrategia (0 = perseguidor, 1 = explorador, 2 = aleatorio)
+    private final int[] strategyWeights;
+    // Suma de los pesos
+    private final int totalWeight;
+    // Probabilidad de perseguir en cada decisión (estrategia 0)
+    final double chaseProbability;
+    // Probabilidad de emboscar en cada decisión (estrategia 1)
+    final double ambushProbability;
+    // Probabilidad de mantener la dirección en cada decisión (estrategia 2)
+    final double keepDirectionProbability;
+
+    // Constructor: valida y copia los parámetros
+    GhostTuning(int[] strategyWeights, double chaseProbability, double ambushProbability,
+                double keepDirectionProbability) {
+        if (strategyWeights.length != 3) {
+            throw new IllegalArgumentException("Se necesitan 3 pesos de estrategia");
+        }
+        int total = 0;
+        for (int weight : strategyWeights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso de estrategia negativo: " + weight);
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Al menos una estrategia debe tener peso");
+        }
+        this.strategyWeights = strategyWeights.clone();
+        this.totalWeight = total;
+        this.chaseProbability = chaseProbability;
+        this.ambushProbability = ambushProbability;
+        this.keepDirectionProbability = keepDirectionProbability;
+    }
+
+    // Elige una estrategia según los pesos (con pesos iguales es random.nextInt(3), como el original)
+    int pickStrategy(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (int strategy = 0; strategy < strategyWeights.length; strategy++) {
+            roll -= strategyWeights[strategy];
+            if (roll < 0) {
+                return strategy;
+            }
+        }
+        return strategyWeights.length - 1;
+    }
+
+    // Lee los parámetros de las propiedades del sistema, con los valores originales por defecto:
+    // -Dghost.weights=1,1,1 -Dghost.chase=0.7 -Dghost.ambush=0.3 -Dghost.keep=0.5
+    static GhostTuning fromSystemProperties() {
+        String[] parts = System.getProperty("ghost.weights", "1,1,1").split(",");
+        int[] weights = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            weights[i] = Integer.parseInt(parts[i].trim());
+        }
+        return new GhostTuning(weights,
+                Double.parseDouble(System.getProperty("ghost.chase", String.valueOf(DEFAULT.chaseProbability))),
+                Double.parseDouble(System.getProperty("ghost.ambush", String.valueOf(DEFAULT.ambushProbability))),
+                Double.parseDouble(System.getProperty("ghost.keep", String.valueOf(DEFAULT.keepDirectionProbability))));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pesos %d/%d/%d, perseguir %.2f, emboscar %.2f, mantener %.2f",
+                strategyWeights[0], strategyWeights[1], strategyWeights[2],
+                chaseProbability, ambushProbability, keepDirectionProbability);
+    }
+}
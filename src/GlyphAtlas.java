@@ -0,0 +1,124 @@
+// Importa las clases necesarias para gráficos y fuentes
+import java.awt.*;
+// Importa clase para manejar imágenes en memoria
+import java.awt.image.BufferedImage;
+
+// Caracteres de una fuente y un color pre-dibujados una sola vez en una imagen, con sus
+// anchos guardados en una tabla. Escribir un texto o un número es copiar un trozo de la
+// imagen por carácter: no se crean cadenas ni se consulta FontMetrics al dibujar.
+final class GlyphAtlas {
+    // Caracteres que contiene el atlas
+    private final String chars;
+    // Imagen con un hueco por carácter
+    private final BufferedImage image;
+    // Posición de cada carácter en la imagen y su avance (ancho) al escribir
+    private final int[] cellX;
+    private final int[] advance;
+    // Margen alrededor de cada carácter (los trazos pueden salirse de su avance)
+    private final int pad;
+    // Distancia de la línea base al borde superior del texto
+    final int ascent;
+    // Cifras del último número escrito (se reutiliza, sin reservar memoria)
+    private final char[] digits = new char[11];
+
+    // Constructor: dibuja cada carácter de 'chars' con la fuente y el color dados
+    GlyphAtlas(Font font, Color color, String chars) {
+        this.chars = chars;
+        // Mide con una imagen mínima (sin pantalla no hay otro contexto gráfico)
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D measure = scratch.createGraphics();
+        FontMetrics metrics = measure.getFontMetrics(font);
+        measure.dispose();
+
+        pad = Math.max(2, font.getSize() / 4);
+        ascent = metrics.getAscent();
+        int height = metrics.getAscent() + metrics.getDescent() + 2 * pad;
+        cellX = new int[chars.length()];
+        advance = new int[chars.length()];
+        int width = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            cellX[i] = width;
+            advance[i] = metrics.charWidth(chars.charAt(i));
+            width += advance[i] + 2 * pad;
+        }
+
+        image = new BufferedImage(Math.max(1, width), height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setFont(font);
+        g.setColor(color);
+        for (int i = 0; i < chars.length(); i++) {
+            g.drawString(String.valueOf(chars.charAt(i)), cellX[i] + pad, pad + ascent);
+        }
+        g.dispose();
+    }
+
+    // Ancho de un texto escrito con este atlas
+    int width(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += advance[index(text.charAt(i))];
+        }
+        return width;
+    }
+
+    // Ancho de un número entero (los negativos necesitan '-' en el atlas)
+    int numberWidth(int value) {
+        int count = toDigits(value);
+        int width = 0;
+        for (int i = digits.length - count; i < digits.length; i++) {
+            width += advance[index(digits[i])];
+        }
+        return width;
+    }
+
+    // Escribe un texto con la línea base en 'baseline'; devuelve la x donde termina
+    int draw(Graphics g, String text, int x, int baseline) {
+        for (int i = 0; i < text.length(); i++) {
+            x = drawChar(g, index(text.charAt(i)), x, baseline);
+        }
+        return x;
+    }
+
+    // Escribe un número entero; devuelve la x donde termina
+    int drawNumber(Graphics g, int value, int x, int baseline) {
+        int count = toDigits(value);
+        for (int i = digits.length - count; i < digits.length; i++) {
+            x = drawChar(g, index(digits[i]), x, baseline);
+        }
+        return x;
+    }
+
+    // Copia un carácter del atlas y devuelve la x del siguiente
+    private int drawChar(Graphics g, int i, int x, int baseline) {
+        int left = x - pad;
+        int top = baseline - ascent - pad;
+        int w = advance[i] + 2 * pad;
+        g.drawImage(image, left, top, left + w, top + image.getHeight(),
+                    cellX[i], 0, cellX[i] + w, image.getHeight(), null);
+        return x + advance[i];
+    }
+
+    // Cifras (y signo) de un número al final de 'digits'; devuelve cuántos caracteres son
+    private int toDigits(int value) {
+        // En long para que Integer.MIN_VALUE también tenga valor absoluto
+        long rest = Math.abs((long) value);
+        int count = 0;
+        do {
+            digits[digits.length - 1 - count++] = (char) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest > 0);
+        if (value < 0) {
+            digits[digits.length - 1 - count++] = '-';
+        }
+        return count;
+    }
+
+    // Posición de un carácter en el atlas
+    private int index(char c) {
+        int i = chars.indexOf(c);
+        if (i < 0) {
+            throw new IllegalArgumentException("El atlas no contiene '" + c + "'");
+        }
+        return i;
+    }
+}
@@ -0,0 +1,140 @@
+// Importa clases para leer y escribir archivos de texto
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+// Importa utilidades para agrandar arrays
+import java.util.Arrays;
+
+// Registro de una partida: semilla, opciones que cambian la simulación (giro anticipado,
+// modo arena y separación), direcciones pedidas en cada tick y huella final.
+// Con esto la partida se puede repetir exactamente sin pantalla y a máxima velocidad.
+// Los hilos de los fantasmas no se guardan: el resultado es el mismo con cualquier número.
+class InputLog {
+    // Semilla con la que empezó la partida
+    final long seed;
+    // Ticks que la simulación guardaba un giro anticipado (GameSimulation.preTurnTicks)
+    int preTurnTicks;
+    // Fantasmas del modo arena (GameSimulation.arenaGhosts; 0 = juego normal)
+    int arenaGhosts;
+    // Si los fantasmas no podían superponerse (GameSimulation.ghostSeparation)
+    boolean ghostSeparation;
+    // Tick de cada cambio de dirección
+    private long[] ticks = new long[64];
+    // Dirección pedida en cada cambio
+    private char[] directions = new char[64];
+    // Cantidad de cambios grabados
+    private int size;
+    // Último tick de la partida grabada
+    long endTick;
+    // Huella del estado al final de la partida
+    long endHash;
+
+    // Constructor: empieza un registro vacío para una semilla
+    InputLog(long seed) {
+        this.seed = seed;
+    }
+
+    // Constructor: empieza un registro vacío de la partida que acaba de empezar 'sim',
+    // con su semilla y sus opciones
+    InputLog(GameSimulation sim) {
+        this(sim.seed);
+        preTurnTicks = sim.preTurnTicks;
+        arenaGhosts = sim.arenaGhosts;
+        ghostSeparation = sim.ghostSeparation;
+    }
+
+    // Graba una dirección pedida en un tick
+    void record(long tick, char direction) {
+        if (size == ticks.length) {
+            ticks = Arrays.copyOf(ticks, size * 2);
+            directions = Arrays.copyOf(directions, size * 2);
+        }
+        ticks[size] = tick;
+        directions[size] = direction;
+        size++;
+    }
+
+    // Marca el final de la partida con el estado actual de la simulación
+    void finish(GameSimulation sim) {
+        endTick = sim.tick;
+        endHash = sim.stateHash();
+    }
+
+    // Cantidad de cambios de dirección grabados
+    int size() {
+        return size;
+    }
+
+    // Repite la partida en una simulación nueva sin pantalla y la devuelve al final
+    GameSimulation replay() {
+        GameSimulation sim = new GameSimulation();
+        sim.preTurnTicks = preTurnTicks;
+        sim.arenaGhosts = arenaGhosts;
+        sim.ghostSeparation = ghostSeparation;
+        sim.startNewGame(seed);
+        int next = 0;
+        while (sim.tick < endTick) {
+            // La dirección grabada para el tick que se va a simular (0 = sin cambios)
+            char input = next < size && ticks[next] == sim.tick + 1 ? directions[next++] : 0;
+            sim.step(input);
+        }
+        return sim;
+    }
+
+    // Guarda el registro en un archivo de texto
+    void save(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("seed " + seed + "\n");
+            // Solo si se usó: los registros sin esta línea se repiten sin caducidad
+            if (preTurnTicks > 0) {
+                out.write("preturn " + preTurnTicks + "\n");
+            }
+            // Igual con el modo arena y la separación (los registros del juego normal no cambian)
+            if (arenaGhosts > 0) {
+                out.write("arena " + arenaGhosts + "\n");
+            }
+            if (ghostSeparation) {
+                out.write("separation true\n");
+            }
+            out.write("end " + endTick + " " + Long.toHexString(endHash) + "\n");
+            for (int i = 0; i < size; i++) {
+                out.write(ticks[i] + " " + directions[i] + "\n");
+            }
+        }
+    }
+
+    // Carga un registro guardado con save()
+    static InputLog load(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            InputLog log = new InputLog(Long.parseLong(in.readLine().substring("seed ".length())));
+            // Líneas opcionales hasta la del final de la partida
+            String header = in.readLine();
+            while (!header.startsWith("end ")) {
+                String value = header.substring(header.indexOf(' ') + 1);
+                if (header.startsWith("preturn ")) {
+                    log.preTurnTicks = Integer.parseInt(value);
+                } else if (header.startsWith("arena ")) {
+                    log.arenaGhosts = Integer.parseInt(value);
+                } else if (header.startsWith("separation ")) {
+                    log.ghostSeparation = Boolean.parseBoolean(value);
+                } else {
+                    throw new IOException("Línea desconocida en el registro: " + header);
+                }
+                header = in.readLine();
+            }
+            String[] end = header.split(" ");
+            log.endTick = Long.parseLong(end[1]);
+            log.endHash = Long.parseUnsignedLong(end[2], 16);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    log.record(Long.parseLong(line.substring(0, line.indexOf(' '))), line.charAt(line.length() - 1));
+                }
+            }
+            return log;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+// Cola de direcciones pedidas por el jugador, con el instante (System.nanoTime) de cada tecla.
+// Anillo sin bloqueos para un solo productor (el hilo de Swing, en keyPressed) y un solo
+// consumidor (el bucle de juego, en el hilo de Swing o en el de dibujo activo).
+// El bucle la vacía una vez por tick: cada tecla se aplica en el primer tick que termina
+// después de pulsarla, y se mide cuánto tardó en aplicarse.
+final class InputQueue {
+    // Capacidad del anillo (potencia de dos)
+    private static final int CAPACITY = 64;
+    private static final int MASK = CAPACITY - 1;
+
+    // Instante y dirección de cada tecla
+    private final long[] nanos = new long[CAPACITY];
+    private final char[] directions = new char[CAPACITY];
+    // Siguiente posición a leer (solo la escribe el consumidor)
+    private volatile long head;
+    // Siguiente posición a escribir (solo la escribe el productor); escribirla publica la tecla
+    private volatile long tail;
+    // Teclas descartadas porque el anillo estaba lleno
+    private volatile int dropped;
+    // Tiempo entre cada tecla y el tick que la aplicó (solo lo usa el consumidor)
+    final FrameStats latency = new FrameStats("latencia de entrada", "teclas");
+
+    // Productor: agrega una dirección pulsada en el instante 'when'; false si no cabe
+    boolean offer(char direction, long when) {
+        long t = tail;
+        if (t - head == CAPACITY) {
+            dropped++;
+            return false;
+        }
+        int i = (int) t & MASK;
+        nanos[i] = when;
+        directions[i] = direction;
+        tail = t + 1;
+        return true;
+    }
+
+    // Consumidor: saca las teclas pulsadas hasta el instante 'until' y devuelve la última
+    // dirección (0 si no hay ninguna). 'appliedAt' es cuándo se aplican, para la latencia.
+    char drain(long until, long appliedAt) {
+        long h = head;
+        long t = tail;
+        char direction = 0;
+        while (h < t) {
+            int i = (int) h & MASK;
+            if (nanos[i] > until) {
+                break;
+            }
+            direction = directions[i];
+            latency.add(appliedAt - nanos[i]);
+            h++;
+        }
+        head = h;
+        return direction;
+    }
+
+    // Consumidor: descarta las teclas pendientes (al empezar una partida)
+    void clear() {
+        head = tail;
+    }
+
+    // Teclas descartadas hasta ahora
+    int dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,152 @@
+// Laberinto compilado a partir del mapa de paredes: salidas legales por celda
+// y grafo de cruces (nodos) unidos por pasillos (aristas con su longitud en celdas).
+// Incluye el túnel horizontal: salir por una columna del borde lleva a la opuesta.
+class MazeGraph {
+    // Índices de dirección (mismo orden que el array directions de PacMan)
+    static final int UP = 0;
+    static final int DOWN = 1;
+    static final int LEFT = 2;
+    static final int RIGHT = 3;
+
+    // Desplazamiento en filas de cada dirección
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    // Desplazamiento en columnas de cada dirección
+    private static final int[] COLUMN_STEP = {0, 0, -1, 1};
+
+    // Número de filas del laberinto
+    final int rows;
+    // Número de columnas del laberinto
+    final int columns;
+
+    // Máscara de 4 bits con las salidas de cada celda (bit 0 = arriba ... bit 3 = derecha)
+    private final byte[] exits;
+    // Índice de nodo de cada celda (-1 si la celda es pasillo o pared)
+    private final int[] nodeOfTile;
+    // Celda de cada nodo
+    private final int[] nodeTiles;
+    // Nodo al que se llega saliendo de cada nodo en cada dirección (nodo * 4 + dirección), -1 si no hay
+    private final int[] edgeTarget;
+    // Longitud en celdas de cada arista (nodo * 4 + dirección)
+    private final int[] edgeLength;
+
+    // Constructor: compila el laberinto a partir del mapa de bits de paredes
+    MazeGraph(TileBitmap walls) {
+        this.rows = walls.rows;
+        this.columns = walls.columns;
+        int tileCount = rows * columns;
+
+        // 1) Salidas legales de cada celda transitable
+        exits = new byte[tileCount];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (walls.get(r, c)) {
+                    continue;
+                }
+                int mask = 0;
+                for (int dir = 0; dir < 4; dir++) {
+                    int target = step(r * columns + c, dir);
+                    if (target != -1 && !walls.get(target / columns, target % columns)) {
+                        mask |= 1 << dir;
+                    }
+                }
+                exits[r * columns + c] = (byte) mask;
+            }
+        }
+
+        // 2) Nodos: cruces (3 o 4 salidas) y callejones sin salida (1 salida).
+        //    Las celdas con 2 salidas son pasillos, aunque doblen una esquina.
+        nodeOfTile = new int[tileCount];
+        int nodeCount = 0;
+        for (int tile = 0; tile < tileCount; tile++) {
+            int exitCount = Integer.bitCount(exits[tile]);
+            nodeOfTile[tile] = exitCount != 0 && exitCount != 2 ? nodeCount++ : -1;
+        }
+        nodeTiles = new int[nodeCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            if (nodeOfTile[tile] != -1) {
+                nodeTiles[nodeOfTile[tile]] = tile;
+            }
+        }
+
+        // 3) Aristas: recorre el pasillo de cada salida hasta el siguiente nodo
+        edgeTarget = new int[nodeCount * 4];
+        edgeLength = new int[nodeCount * 4];
+        for (int node = 0; node < nodeCount; node++) {
+            for (int dir = 0; dir < 4; dir++) {
+                edgeTarget[node * 4 + dir] = -1;
+                if ((exits[nodeTiles[node]] & (1 << dir)) == 0) {
+                    continue;
+                }
+                int tile = step(nodeTiles[node], dir);
+                int heading = dir;
+                int length = 1;
+                // Un pasillo nunca es más largo que el tablero (evita ciclos sin nodos)
+                while (nodeOfTile[tile] == -1 && length <= tileCount) {
+                    heading = corridorExit(exits[tile], heading);
+                    tile = step(tile, heading);
+                    length++;
+                }
+                if (nodeOfTile[tile] != -1) {
+                    edgeTarget[node * 4 + dir] = nodeOfTile[tile];
+                    edgeLength[node * 4 + dir] = length;
+                }
+            }
+        }
+    }
+
+    // Celda vecina en una dirección, con el túnel horizontal (-1 si sale del tablero por arriba/abajo)
+    int step(int tile, int dir) {
+        int row = tile / columns + ROW_STEP[dir];
+        if (row < 0 || row >= rows) {
+            return -1;
+        }
+        int column = Math.floorMod(tile % columns + COLUMN_STEP[dir], columns);
+        return row * columns + column;
+    }
+
+    // Máscara de salidas legales de una celda (0 para paredes)
+    int exits(int tile) {
+        return exits[tile];
+    }
+
+    // Indica si en esta celda hay que tomar una decisión (cruce o callejón sin salida)
+    boolean isJunction(int tile) {
+        return nodeOfTile[tile] != -1;
+    }
+
+    // Salida de un pasillo de 2 salidas que no es volver por donde se vino
+    static int corridorExit(int exitMask, int heading) {
+        int forward = exitMask & ~(1 << reverse(heading));
+        return forward != 0 ? Integer.numberOfTrailingZeros(forward) : reverse(heading);
+    }
+
+    // Dirección contraria
+    static int reverse(int dir) {
+        return dir ^ 1;
+    }
+
+    // Número de nodos del grafo
+    int nodeCount() {
+        return nodeTiles.length;
+    }
+
+    // Celda de un nodo
+    int nodeTile(int node) {
+        return nodeTiles[node];
+    }
+
+    // Nodo de una celda (-1 si es pasillo o pared)
+    int nodeOf(int tile) {
+        return nodeOfTile[tile];
+    }
+
+    // Nodo al que se llega desde 'node' saliendo en 'dir' (-1 si no hay salida)
+    int edgeTarget(int node, int dir) {
+        return edgeTarget[node * 4 + dir];
+    }
+
+    // Longitud en celdas del pasillo que sale de 'node' en 'dir'
+    int edgeLength(int node, int dir) {
+        return edgeLength[node * 4 + dir];
+    }
+}
@@ -2,158 +2,34 @@
 import java.awt.*;  
 // Importa clases para manejar eventos (teclado, ratón)
 import java.awt.event.*; 
-// Importa clase para manejar imágenes en memoria
-import java.awt.image.BufferedImage; 
-// Importa clase para leer flujos de entrada de datos
-import java.io.InputStream; 
-// Importa clase para colecciones que no permiten duplicados
-import java.util.HashSet; 
-// Importa clase para generar números aleatorios
-import java.util.Random; 
-// Importa clase para listas dinámicas
-import java.util.ArrayList; 
-// Importa interfaz para listas
-import java.util.List; 
 // Importa componentes de interfaz gráfica Swing
 import javax.swing.*; 
-// Importa clases para reproducción de audio
-import javax.sound.sampled.*; 
 // Importa clase para manejo de archivos
 import java.io.File; 
-// Importa clase para lectura/escritura de imágenes
-import javax.imageio.ImageIO; 
+// Importa clase para errores de entrada/salida
+import java.io.IOException; 
 
 // Clase principal del juego que hereda de JPanel e implementa interfaces para eventos
 public class PacMan extends JPanel implements ActionListener, KeyListener {
-    // Enumeración que define los posibles estados del juego
-    enum GameState {
-        MAIN_MENU,       // Estado cuando se muestra el menú principal
-        COLOR_SELECTION,  // Estado para seleccionar color de Pac-Man
-        PLAYING,          // Estado cuando el juego está en curso
-        PAUSED,          // Estado cuando el juego está pausado
-        GAME_OVER,       // Estado cuando el juego termina
-        PLAYER_DIED       // Estado cuando el jugador pierde una vida
-    }
-    
-    // Variable que guarda el estado actual del juego, inicializado en MAIN_MENU
-    private GameState gameState = GameState.MAIN_MENU; 
+    // Simulación del juego (laberinto, personajes, puntuación, vidas y estado)
+    GameSimulation sim = new GameSimulation(); 
+    // Direcciones pedidas por el jugador con el instante de cada tecla; el bucle las aplica
+    // en el tick que corresponde a ese instante (con dibujo activo, desde el hilo de dibujo)
+    private final InputQueue input = new InputQueue(); 
+    // Ticks que se guarda un giro que aún no se puede tomar (-Dpacman.preTurnTicks, 0 = siempre)
+    private static final int PRE_TURN_TICKS = Integer.getInteger("pacman.preTurnTicks", 24); 
     
-    // Clase interna que representa cualquier elemento del juego (Pac-Man, fantasmas, paredes, etc.)
-    class Block {
-        // Posición horizontal del bloque en píxeles
-        int x; 
-        // Posición vertical del bloque en píxeles
-        int y; 
-        // Ancho del bloque en píxeles
-        int width; 
-        // Alto del bloque en píxeles
-        int height;
-        // Imagen que representa al bloque
-        Image image; 
-
-        // Posición horizontal inicial (para reiniciar)
-        int startX; 
-        // Posición vertical inicial (para reiniciar)
-        int startY;
-        // Dirección actual (U=Arriba, D=Abajo, L=Izquierda, R=Derecha)
-        char direction = 'R'; 
-        // Siguiente dirección solicitada por el jugador
-        char nextDirection = 'R'; 
-        // Velocidad horizontal actual
-        int velocityX = 4; 
-        // Velocidad vertical actual
-        int velocityY = 0; 
-        
-        // Estrategia de movimiento del fantasma (0-2)
-        int movementStrategy;  
-        // Marca de tiempo del último cambio de dirección
-        long lastDirectionChange; 
-        // Intervalo entre cambios de dirección
-        int changeInterval; 
-        // Velocidad base del bloque
-        int velocity = 4; 
-
-        // Constructor del bloque
-        Block(Image image, int x, int y, int width, int height) {
-            // Asigna la imagen del bloque
-            this.image = image;
-            // Asigna posición x
-            this.x = x;
-            // Asigna posición y
-            this.y = y;
-            // Asigna ancho
-            this.width = width;
-            // Asigna alto
-            this.height = height;
-            // Guarda posición inicial x
-            this.startX = x;
-            // Guarda posición inicial y
-            this.startY = y;
-            
-            // Asigna estrategia de movimiento aleatoria (0, 1 o 2)
-            this.movementStrategy = random.nextInt(3); 
-            // Registra tiempo actual como último cambio de dirección
-            this.lastDirectionChange = System.currentTimeMillis();
-            // Establece intervalo aleatorio entre 1000 y 3000 ms
-            this.changeInterval = 1000 + random.nextInt(2000); 
-        }
-        
-        // Método para actualizar la velocidad según la dirección actual
-        void updateVelocity() {
-            switch (direction) {
-                case 'U': // Si dirección es arriba
-                    velocityX = 0;      // No hay movimiento horizontal
-                    velocityY = -velocity; // Movimiento vertical negativo (arriba)
-                    break;
-                case 'D': // Si dirección es abajo
-                    velocityX = 0;      // No hay movimiento horizontal
-                    velocityY = velocity; // Movimiento vertical positivo (abajo)
-                    break;
-                case 'L': // Si dirección es izquierda
-                    velocityX = -velocity; // Movimiento horizontal negativo (izquierda)
-                    velocityY = 0;      // No hay movimiento vertical
-                    break;
-                case 'R':  // Si dirección es derecha
-                    velocityX = velocity; // Movimiento horizontal positivo (derecha)
-                    velocityY = 0;      // No hay movimiento vertical
-                    break;
-            }
-        }
-         
-        // Método para reiniciar el bloque a su posición y estado inicial
-        void reset() {
-            // Restablece posición x
-            this.x = this.startX;
-            // Restablece posición y
-            this.y = this.startY;
-            // Restablece dirección a derecha
-            this.direction = 'R';
-            // Restablece siguiente dirección a derecha
-            this.nextDirection = 'R';
-            // Asigna nueva estrategia de movimiento aleatoria
-            this.movementStrategy = random.nextInt(3);
-            // Registra tiempo actual como último cambio
-            this.lastDirectionChange = System.currentTimeMillis();
-            // Establece nuevo intervalo aleatorio
-            this.changeInterval = 1000 + random.nextInt(2000);
-            // Actualiza velocidad según dirección
-            updateVelocity();
-        }
-    }
-
-    // Número de filas en el tablero
-    private int rowCount = 21; 
-    // Número de columnas en el tablero
-    private int columnCount = 19; 
     // Tamaño en píxeles de cada celda del tablero
-    private int tileSize = 32; 
+    private int tileSize = sim.tileSize; 
     // Ancho total del tablero en píxeles
-    private int boardWidth = columnCount * tileSize; 
+    private int boardWidth = sim.boardWidth; 
     // Alto total del tablero en píxeles
-    private int boardHeight = rowCount * tileSize; 
+    private int boardHeight = sim.boardHeight; 
     
     // Imagen de las paredes del laberinto
     private Image wallImage; 
+    // Capas en caché del tablero, marcador y pantallas superpuestas
+    private GameRenderer renderer; 
     // Imagen del fantasma azul
     private Image blueGhostImage; 
     // Imagen del fantasma naranja
@@ -170,68 +46,62 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
     private Image pacmanLeftImage; 
     // Imagen de Pac-Man mirando derecha
     private Image pacmanRightImage; 
+    // Fuente e imágenes leídas al arrancar
+    private GameAssets assets; 
+    // Imágenes leídas una sola vez (compartidas y de cada color de Pac-Man)
+    private SpriteCache sprites; 
+    // Ya se dibujó el primer cuadro (para medir el tiempo de arranque)
+    private boolean firstFramePainted; 
     // Imagen de fondo para el menú
     private Image menuBackground; 
     // Imagen del logo del juego
     private Image logoImage; 
     
-    // Gestor de sonido para el movimiento
-    private SoundManager moveSound = new SoundManager(); 
-    // Gestor de sonido para la muerte
-    private SoundManager dieSound = new SoundManager();  
-    // Referencia al sonido actual que se está reproduciendo
-    private SoundManager currentSound = null; 
+    // Sonido en su propio hilo (las órdenes no bloquean el bucle de juego)
+    private final AudioEngine audio = new AudioEngine(); 
+    // Sonido que se está reproduciendo (AudioEngine.MOVE, AudioEngine.DIE o -1)
+    private int currentSound = -1; 
     
-    // Mapa del juego representado como un array de Strings
-    private String[] tileMap = {
-        "XXXXXXXXXXXXXXXXXXX", // X = Pared
-        "X        X        X", // Espacio = Comida
-        "X XX XXX X XXX XX X",  // P = Posición inicial de Pac-Man
-        "X                 X", // b = Fantasma azul
-        "X XX X XXXXX X XX X", // o = Fantasma naranja
-        "X    X       X    X", // p = Fantasma rosa
-        "XXXX XXXX XXXX XXXX", // r = Fantasma rojo
-        "OOOX X       X XOOO",  // O = Comida especial (no implementada)
-        "XXXX X XXrXX X XXXX",
-        "O       bpo       O",
-        "XXXX X XXXXX X XXXX",
-        "OOOX X       X XOOO",
-        "XXXX X XXXXX X XXXX",
-        "X        X        X",
-        "X XX XXX X XXX XX X",
-        "X  X     P     X  X",
-        "XX X X XXXXX X X XX",
-        "X    X   X   X    X",
-        "X XXXXXX X XXXXXX X",
-        "X                 X",
-        "XXXXXXXXXXXXXXXXXXX" 
-    };
-    
-    // Conjunto que almacena todos los bloques de pared
-    HashSet<Block> walls; 
-    // Conjunto que almacena todos los bloques de comida
-    HashSet<Block> foods; 
-    // Conjunto que almacena todos los bloques de fantasmas
-    HashSet<Block> ghosts; 
-    // Bloque que representa al jugador (Pac-Man)
-    Block pacman; 
-
-    // Temporizador para el bucle principal del juego (~60 FPS)
+    // Temporizador que impulsa el bucle principal (dibuja hasta ~240 FPS; la lógica va a paso fijo)
     Timer gameLoop; 
-    // Temporizador para la animación de muerte
-    Timer deathTimer;  
-    // Array con las posibles direcciones (Arriba, Abajo, Izquierda, Derecha)
-    char[] directions = {'U', 'D', 'L', 'R'};
-    // Objeto para generar números aleatorios
-    Random random = new Random(); 
-    
-    // Puntuación actual del jugador
-    int score = 0;  
-    // Vidas restantes del jugador
-    int lives = 3; 
-    // Indica si se debe mostrar a Pac-Man (para animación de muerte)
-    boolean showPacman = true; 
-    
+    // Milisegundos entre disparos del temporizador del bucle
+    private static final int FRAME_MILLIS = 4; 
+    // Tiempo máximo que se recupera en un solo fotograma (evita la espiral de ticks atrasados)
+    private static final long MAX_FRAME_NANOS = 250_000_000L; 
+    // Instante del fotograma anterior (System.nanoTime)
+    private long lastFrameNanos; 
+    // Tiempo real acumulado que todavía no se ha simulado
+    private long accumulatedNanos; 
+    // Fracción del siguiente tick ya transcurrida (0..1), para interpolar al dibujar
+    private double interpolation; 
+    // Dibujo activo con BufferStrategy en su propio hilo (null si se usa paintComponent)
+    private ActiveRenderer activeRenderer; 
+    // Tiempos entre cuadros del bucle (se imprimen al detenerlo con -Dpacman.frameStats=true)
+    private FrameStats frameStats; 
+    private static final boolean PRINT_FRAME_STATS = Boolean.getBoolean("pacman.frameStats"); 
+    // Perfil por fases del tick y del dibujo (-Dpacman.profile=true; null = no se mide nada)
+    private final TickProfiler profiler = TickProfiler.enabled() ? new TickProfiler() : null; 
+    // Panel del perfil dentro del tablero (se alterna con F3)
+    private boolean showProfile; 
+
+    // Zonas sucias: solo se vuelve a dibujar lo que cambió desde el último cuadro
+    // Máximo de zonas por cuadro; con más (modo arena) se redibuja el panel completo
+    private static final int MAX_DIRTY_REGIONS = 32;
+    // Rectángulos sucios del cuadro actual (x, y, ancho, alto)
+    private final int[] dirtyX = new int[MAX_DIRTY_REGIONS];
+    private final int[] dirtyY = new int[MAX_DIRTY_REGIONS];
+    private final int[] dirtyWidth = new int[MAX_DIRTY_REGIONS];
+    private final int[] dirtyHeight = new int[MAX_DIRTY_REGIONS];
+    private int dirtyCount;
+    // Posición con la que se dibujó cada personaje en el último cuadro
+    private int[] paintedX = new int[0];
+    private int[] paintedY = new int[0];
+    // Estado, comida, vidas y puntuación que se ven ahora en pantalla
+    private GameState paintedState; 
+    private TileBitmap paintedFood;
+    private int paintedLives = -1;
+    private int paintedScore = -1;
+
     // Botón para iniciar el juego
     private JButton startButton; 
     // Botón para seleccionar color
@@ -264,6 +134,14 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
     // CONSTRUCTOR PRINCIPAL
     // =============================================
     public PacMan() {
+        this(null);
+    }
+
+    // Constructor con aviso de progreso de la carga de recursos (ventana de carga, o null)
+    PacMan(GameAssets.Progress progress) {
+        // Giro anticipado limitado: una tecla pulsada antes de una esquina vale unos ticks
+        sim.preTurnTicks = PRE_TURN_TICKS;
+        sim.profiler = profiler;
         // Establece el tamaño preferido del panel
         setPreferredSize(new Dimension(boardWidth, boardHeight));
         // Establece el color de fondo como negro
@@ -274,25 +152,24 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         setFocusable(true); 
         // Establece layout manual (sin administrador de diseño)
         setLayout(null); 
+        // Modo arena opcional: -Dpacman.arena=<fantasmas> (se mueven en todos los núcleos)
+        sim.arenaGhosts = Integer.getInteger("pacman.arena", 0);
+        if (sim.arenaGhosts > 0) {
+            sim.setGhostThreads(Runtime.getRuntime().availableProcessors());
+            // Con tantos fantasmas, que no se amontonen unos encima de otros
+            sim.ghostSeparation = true;
+        }
 
-        // Intenta cargar fuentes personalizadas
-        try {
-            // Obtiene el flujo de entrada para el archivo de fuente
-            InputStream is = getClass().getResourceAsStream("./PAC-FONT.TTF");
-            // Crea la fuente grande a partir del archivo TTF
-            customFontLarge = Font.createFont(Font.TRUETYPE_FONT, is).deriveFont(40f);
-            // Deriva la fuente mediana de la grande con tamaño 20
+        // Lee la fuente y las imágenes en paralelo
+        assets = GameAssets.load(tileSize, boardWidth, boardHeight, progress);
+        sprites = assets.sprites;
+        if (assets.font != null) {
+            // Fuente grande a tamaño 40; la mediana y la pequeña a tamaño 20
+            customFontLarge = assets.font;
             customFontMedium = customFontLarge.deriveFont(20f);
-            // Deriva la fuente pequeña de la grande con tamaño 20
             customFontSmall = customFontLarge.deriveFont(20f);
-            
-            // Obtiene el entorno gráfico local
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            // Registra la fuente personalizada en el sistema
-            ge.registerFont(customFontLarge);
-        } catch (Exception e) {
+        } else {
             // Si hay error, usa fuentes por defecto
-            System.err.println("Error cargando fuente personalizada: " + e.getMessage());
             customFontLarge = new Font("Arial Black", Font.BOLD, 48);
             customFontMedium = new Font("Arial Black", Font.BOLD, 24);
             customFontSmall = new Font("Arial Black", Font.BOLD, 18);
@@ -301,82 +178,54 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         // Crea fuente Arial Black tamaño 20
         arialBlackFont = new Font("Arial Black", Font.BOLD, 20);
 
-        // Carga las imágenes iniciales (color amarillo por defecto)
-        loadImages("amarillo");
+        // Imágenes iniciales (color amarillo por defecto, ya cargadas)
+        loadImages(GameAssets.DEFAULT_COLOR);
         
         // Configura todos los botones de la interfaz
         setupButtons();
         
         // Muestra solo los botones del menú principal al inicio
         showMainMenuButtons(true);
+        // Mientras se ve el menú, lee en segundo plano los sprites de todos los colores
+        if (sprites != null) {
+            sprites.preload();
+        }
         
-        // Crea el temporizador del juego (16ms ≈ 60 FPS)
-        gameLoop = new Timer(16, this); 
-        // Crea el temporizador para la animación de muerte
-        deathTimer = new Timer(1000, e -> {
-            // Detiene el temporizador de muerte
-            deathTimer.stop();
-            // Si no quedan vidas
-            if (lives <= 0) {
-                // Muestra pantalla de fin de juego
-                gameOver(); 
-            } else {
-                // Reinicia posiciones de los personajes
-                resetPositions(); 
-                // Cambia estado a jugando
-                gameState = GameState.PLAYING;
-                // Muestra a Pac-Man
-                showPacman = true;
-                // Reanuda el juego
-                gameLoop.start(); 
-                // Reproduce sonido de movimiento
-                startMoveSound(); 
-            }
-            // Vuelve a dibujar el panel
-            repaint(); 
-        });
+        // Crea el temporizador del bucle; la simulación avanza a ticks fijos de 16ms
+        gameLoop = new Timer(FRAME_MILLIS, this); 
+        // Dibujo activo opcional: -Dpacman.activeRender=true (sustituye al temporizador durante la partida)
+        if (ActiveRenderer.enabled()) {
+            activeRenderer = new ActiveRenderer(this, boardWidth, boardHeight, tileSize);
+            add(activeRenderer);
+            frameStats = activeRenderer.stats;
+        } else {
+            frameStats = new FrameStats("pasivo (paintComponent)");
+        }
     }
 
     // =============================================
     // MÉTODOS DE CARGA DE RECURSOS
     // =============================================
 
-    // Carga las imágenes según el color seleccionado para Pac-Man
+    // Carga las imágenes según el color seleccionado para Pac-Man.
+    // Las compartidas se leen una sola vez; las de cada color salen de la caché
     private void loadImages(String color) {
         try {
-            // Carga imagen de las paredes
-            wallImage = ImageIO.read(getClass().getResource("./wall.png"));
-            // Carga imagen del fantasma azul
-            blueGhostImage = ImageIO.read(getClass().getResource("./blueGhost.png"));
-            // Carga imagen del fantasma naranja
-            orangeGhostImage = ImageIO.read(getClass().getResource("./orangeGhost.png"));
-            // Carga imagen del fantasma rosa
-            pinkGhostImage = ImageIO.read(getClass().getResource("./pinkGhost.png"));
-            // Carga imagen del fantasma rojo
-            redGhostImage = ImageIO.read(getClass().getResource("./redGhost.png"));
-
-            // Carga imágenes de Pac-Man según el color seleccionado
-            pacmanUpImage = ImageIO.read(getClass().getResource("./pacman_" + color + "/pacmanUp.png"));
-            pacmanDownImage = ImageIO.read(getClass().getResource("./pacman_" + color + "/pacmanDown.png"));
-            pacmanLeftImage = ImageIO.read(getClass().getResource("./pacman_" + color + "/pacmanLeft.png"));
-            pacmanRightImage = ImageIO.read(getClass().getResource("./pacman_" + color + "/pacmanRight.png"));
-            
-            // Carga y escala la imagen de fondo del menú
-            Image rawImage = ImageIO.read(getClass().getResource("./menu_background.png"));
-            // Crea una imagen en memoria del tamaño del tablero
-            BufferedImage scaledImage = new BufferedImage(boardWidth, boardHeight, BufferedImage.TYPE_INT_ARGB);
-            // Obtiene el contexto gráfico para dibujar
-            Graphics2D g2d = scaledImage.createGraphics();
-            // Establece interpolación de alta calidad
-            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            // Dibuja la imagen original escalada al tamaño del tablero
-            g2d.drawImage(rawImage, 0, 0, boardWidth, boardHeight, null);
-            // Libera recursos
-            g2d.dispose();
-            // Asigna la imagen escalada como fondo del menú
-            menuBackground = scaledImage;
-            // Carga la imagen del logo
-            logoImage = ImageIO.read(getClass().getResource("./logo.png"));
+            // Paredes, fantasmas, fondo del menú y logo (los mismos para todos los colores)
+            wallImage = sprites.wallImage;
+            blueGhostImage = sprites.blueGhostImage;
+            orangeGhostImage = sprites.orangeGhostImage;
+            pinkGhostImage = sprites.pinkGhostImage;
+            redGhostImage = sprites.redGhostImage;
+            menuBackground = sprites.menuBackground;
+            logoImage = sprites.logoImage;
+
+            // Imágenes de Pac-Man del color seleccionado (ya precargadas si el menú estuvo abierto)
+            Image[] pacman = sprites.pacman(color);
+            pacmanUpImage = pacman[MazeGraph.UP];
+            pacmanDownImage = pacman[MazeGraph.DOWN];
+            pacmanLeftImage = pacman[MazeGraph.LEFT];
+            pacmanRightImage = pacman[MazeGraph.RIGHT];
         } catch (Exception e) {
             // Si hay error, muestra mensaje y traza de error
             System.err.println("Error cargando imágenes: " + e.getMessage());
@@ -560,7 +409,7 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
     private void showColorSelection() {
         startButton.setVisible(false);
         colorSelectionButton.setVisible(true);
-        gameState = GameState.COLOR_SELECTION;
+        sim.gameState = GameState.COLOR_SELECTION;
         repaint();
     }
 
@@ -583,7 +432,7 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         colorFrame.setLocation(x, y);
         
         // Colores disponibles para Pac-Man
-        String[] colors = {"amarillo", "azul", "negro", "celeste", "rojo", "rosa", "verde"};
+        String[] colors = SpriteCache.COLORS;
         // Valores de color correspondientes
         Color[] colorValues = {Color.YELLOW, Color.BLUE, Color.BLACK, Color.CYAN, Color.RED, Color.PINK, Color.GREEN};
 
@@ -673,12 +522,11 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
 
     // Inicia el juego principal
     private void startGame() {
-        // Carga el mapa del juego
-        loadMap();
-        // Reinicia posiciones de los personajes
-        resetPositions();
-        // Establece estado de juego
-        gameState = GameState.PLAYING;
+        // Carga el mapa, reinicia puntuación, vidas y posiciones, y empieza a jugar
+        sim.startNewGame();
+        sim.inputLog = new InputLog(sim);
+        // El bucle está detenido: se descartan las teclas de la partida anterior
+        input.clear();
         
         // Oculta botones no necesarios durante el juego
         startButton.setVisible(false);
@@ -689,14 +537,9 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         resumeButton.setVisible(false);
         controlsButton.setVisible(false); 
         aboutButton.setVisible(false);    
-
-        // Reinicia valores del juego
-        score = 0;
-        lives = 3;
-        showPacman = true;
         
         // Inicia el bucle del juego
-        gameLoop.start();
+        startGameLoop();
         // Establece foco en el panel para recibir eventos de teclado
         requestFocus();
         // Reproduce sonido de movimiento
@@ -705,280 +548,112 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
 
     // Muestra el menú principal
     private void showMainMenu() {
-        gameState = GameState.MAIN_MENU;
-        gameLoop.stop();
+        stopGameLoop();
+        sim.gameState = GameState.MAIN_MENU;
         showMainMenuButtons(true);
         stopAllSounds();
         repaint();
     }
 
     // =============================================
-    // MÉTODOS DE MOVIMIENTO Y LÓGICA DEL JUEGO
+    // MÉTODOS DE CONTROL DEL JUEGO
     // =============================================
     
-    // Método principal de movimiento que se ejecuta en cada frame
-    public void move() {
-        // Solo se mueve si el estado es PLAYING
-        if (gameState != GameState.PLAYING) return;
-        
-        // Mueve a Pac-Man
-        movePacman(); 
-        // Mueve los fantasmas
-        moveGhosts(); 
-        // Verifica si Pac-Man ha comido comida
-        checkFoodCollision(); 
-    }
-
-    // Mueve a Pac-Man según su dirección actual
-    private void movePacman() {
-        // Intenta cambiar de dirección si hay una solicitud diferente a la actual
-        if (pacman.nextDirection != pacman.direction) {
-            tryChangeDirection();
-        }
-        // Guarda la posición anterior
-        int oldX = pacman.x;
-        int oldY = pacman.y;
-        // Actualiza la posición según la velocidad
-        pacman.x += pacman.velocityX;
-        pacman.y += pacman.velocityY;
-        // Verifica colisión con paredes
-        if (checkWallCollision(pacman)) {
-            // Si hay colisión, revierte el movimiento
-            pacman.x = oldX;
-            pacman.y = oldY;
+    // Reacciona a los eventos de los ticks de un cuadro (siempre en el hilo de Swing)
+    void handleSimulationEvents(int events) {
+        // Pac-Man perdió una vida: suena la muerte durante la pausa
+        if ((events & GameSimulation.EVENT_PLAYER_DIED) != 0) {
+            stopAllSounds();
+            playSound(AudioEngine.DIE, false);
         }
-        // Verifica si debe teletransportarse al otro lado del tablero
-        checkBoardBounds(pacman);
-    }
-
-    // Intenta cambiar la dirección de Pac-Man
-    private void tryChangeDirection() {
-        // Guarda el estado actual temporalmente
-        int tempX = pacman.x;
-        int tempY = pacman.y;
-        char tempDirection = pacman.direction;
-        int tempVX = pacman.velocityX;
-        int tempVY = pacman.velocityY;
-        
-        // Prueba la nueva dirección
-        pacman.direction = pacman.nextDirection;
-        pacman.updateVelocity();
-        
-        // Simula el movimiento
-        tempX += pacman.velocityX;
-        tempY += pacman.velocityY;
-        
-        // Crea un Pac-Man temporal para verificar colisión
-        Block tempPacman = new Block(null, tempX, tempY, pacman.width, pacman.height);
-        
-        // Si no hay colisión con la nueva dirección
-        if (!checkWallCollision(tempPacman)) {
-            // Acepta el cambio de dirección
-            pacman.updateVelocity();
-        } else {
-            // Si hay colisión, revierte al estado anterior
-            pacman.direction = tempDirection;
-            pacman.velocityX = tempVX;
-            pacman.velocityY = tempVY;
+        // Terminó la pausa y se sigue jugando
+        if ((events & GameSimulation.EVENT_RESPAWNED) != 0) {
+            startMoveSound();
         }
-    }
-
-    // Verifica si un bloque colisiona con alguna pared
-    private boolean checkWallCollision(Block block) {
-        for (Block wall : walls) {
-            if (collision(block, wall)) {
-                return true;
-            }
+        // No quedan vidas
+        if ((events & GameSimulation.EVENT_GAME_OVER) != 0) {
+            gameOver();
         }
-        return false;
     }
 
-    // Verifica los bordes del tablero para teletransporte
-    private void checkBoardBounds(Block entity) {
-        // Si se sale por la izquierda
-        if (entity.x < -entity.width) {
-            entity.x = boardWidth; // Aparece por la derecha
-        } 
-        // Si se sale por la derecha
-        else if (entity.x > boardWidth) {
-            entity.x = -entity.width; // Aparece por la izquierda
+    // Arranca el bucle de juego sin contar el tiempo que estuvo detenido
+    private void startGameLoop() {
+        lastFrameNanos = System.nanoTime();
+        accumulatedNanos = 0;
+        interpolation = 0;
+        // La pantalla cambió por completo (menú, pausa, fin de juego): el primer cuadro se dibuja entero
+        paintedState = null;
+        if (activeRenderer != null) {
+            activeRenderer.start();
+        } else {
+            gameLoop.start();
         }
     }
 
-    // Versión especial de teletransporte para fantasmas
-    private void checkGhostBoardBounds(Block ghost) {
-        // Teletransporte normal como Pac-Man
-        if (ghost.x < -ghost.width) {
-            ghost.x = boardWidth;
-        } else if (ghost.x > boardWidth) {
-            ghost.x = -ghost.width;
+    // Detiene el bucle de juego; con dibujo activo espera a que el hilo deje la simulación
+    private void stopGameLoop() {
+        if (activeRenderer != null) {
+            activeRenderer.stop();
+        } else {
+            gameLoop.stop();
+            frameStats.pause();
         }
-        
-        // 10% de probabilidad de cambiar dirección después del teletransporte
-        if (random.nextInt(100) < 10) {
-            ghost.direction = directions[random.nextInt(4)];
-            ghost.updateVelocity();
+        if (PRINT_FRAME_STATS && frameStats.size() > 0) {
+            System.out.println(frameStats.summary());
+            frameStats.reset();
         }
-    }
-
-    // Mueve todos los fantasmas del juego
-    private void moveGhosts() {
-        long currentTime = System.currentTimeMillis();
-        
-        for (Block ghost : ghosts) {
-            // Guarda posición anterior
-            int oldX = ghost.x;
-            int oldY = ghost.y;
-            
-            // Mueve el fantasma según su velocidad
-            ghost.x += ghost.velocityX;
-            ghost.y += ghost.velocityY;
-            
-            // Aplica teletransporte si llega a los bordes
-            checkGhostBoardBounds(ghost);
-            
-            // Verifica colisión con paredes
-            boolean collided = checkWallCollision(ghost);
-            
-            if (collided) {
-                // Revertir movimiento si hay colisión
-                ghost.x = oldX;
-                ghost.y = oldY;
-                
-                // Elegir nueva dirección según personalidad del fantasma
-                char newDirection = chooseNewDirection(ghost, oldX, oldY);
-                ghost.direction = newDirection;
-                ghost.updateVelocity();
-            }
-            
-            // Cambio de dirección periódico (aunque no haya colisión)
-            if (currentTime - ghost.lastDirectionChange > ghost.changeInterval) {
-                ghost.direction = chooseNewDirection(ghost, ghost.x, ghost.y);
-                ghost.updateVelocity();
-                ghost.lastDirectionChange = currentTime;
-                ghost.changeInterval = 1000 + random.nextInt(2000); // 1-3 segundos
-            }
-            
-            // Verifica colisión con Pac-Man
-            if (collision(ghost, pacman) && gameState == GameState.PLAYING) {
-                playerDied();
-            }
-        }
-    }
-
-    // Elige una nueva dirección para un fantasma
-    private char chooseNewDirection(Block ghost, int currentX, int currentY) {
-        // Lista de direcciones posibles (sin colisión inmediata)
-        List<Character> possibleDirections = new ArrayList<>();
-        
-        // Prueba cada dirección posible
-        for (char dir : new char[]{'U', 'D', 'L', 'R'}) {
-            Block temp = new Block(null, currentX, currentY, ghost.width, ghost.height);
-            temp.direction = dir;
-            temp.updateVelocity();
-            temp.x += temp.velocityX;
-            temp.y += temp.velocityY;
-            
-            // Si no hay colisión y está dentro de los bordes
-            if (!checkWallCollision(temp) && 
-                temp.x > 0 && 
-                temp.x + temp.width < boardWidth) {
-                possibleDirections.add(dir);
+        if (profiler != null) {
+            profiler.pause();
+            if (profiler.samples(TickProfiler.FRAME) > 0) {
+                System.out.println(profiler.summary());
             }
         }
-        
-        // Si no hay direcciones posibles, elige aleatoria
-        if (possibleDirections.isEmpty()) {
-            return directions[random.nextInt(4)];
+        // Latencia y cortes del mezclador de audio (-Dpacman.audioStats=true)
+        if (Boolean.getBoolean("pacman.audioStats")) {
+            System.out.println(audio.stats());
         }
-        
-        // Decide según la estrategia de movimiento del fantasma
-        switch (ghost.movementStrategy) {
-            case 0: // Perseguidor agresivo
-                if (random.nextDouble() < 0.7) { // 70% de perseguir
-                    return chasePacMan(ghost, currentX, currentY, possibleDirections);
-                }
-                break;
-                
-            case 1: // Explorador
-                if (random.nextDouble() < 0.3) { // 30% de perseguir
-                    return chasePacMan(ghost, currentX, currentY, possibleDirections);
-                }
-                break;
-                
-            case 2: // Aleatorio con preferencia por dirección actual
-                if (random.nextDouble() < 0.5 && possibleDirections.contains(ghost.direction)) {
-                    return ghost.direction; // 50% de mantener dirección
-                }
-                break;
-        }
-        
-        // Dirección aleatoria entre las posibles
-        return possibleDirections.get(random.nextInt(possibleDirections.size()));
-    }
-
-    // Intenta perseguir a Pac-Man eligiendo la mejor dirección posible
-    private char chasePacMan(Block ghost, int currentX, int currentY, List<Character> possibleDirections) {
-        // Calcula diferencias con posición de Pac-Man
-        int dx = pacman.x - currentX;
-        int dy = pacman.y - currentY;
-        
-        // Determina direcciones preferidas
-        char preferredHorizontal = dx > 0 ? 'R' : 'L';
-        char preferredVertical = dy > 0 ? 'D' : 'U';
-        
-        // Prioriza la dirección con mayor diferencia
-        if (Math.abs(dx) > Math.abs(dy)) {
-            if (possibleDirections.contains(preferredHorizontal)) {
-                return preferredHorizontal;
-            } else if (possibleDirections.contains(preferredVertical)) {
-                return preferredVertical;
-            }
-        } else {
-            if (possibleDirections.contains(preferredVertical)) {
-                return preferredVertical;
-            } else if (possibleDirections.contains(preferredHorizontal)) {
-                return preferredHorizontal;
-            }
+        // Tiempo entre cada tecla y el tick que la aplicó (-Dpacman.inputStats=true)
+        if (Boolean.getBoolean("pacman.inputStats") && input.latency.size() > 0) {
+            System.out.println(input.latency.summary() + ", " + input.dropped() + " descartadas");
+            input.latency.reset();
         }
-        
-        // Si no puede perseguir directamente, elige aleatoria
-        return possibleDirections.get(random.nextInt(possibleDirections.size()));
-    }
-
-    // Maneja la muerte del jugador
-    private void playerDied() {
-        lives--;
-        showPacman = false;
-        gameState = GameState.PLAYER_DIED;
-        gameLoop.stop();
-        
-        stopAllSounds();
-        playSound("./die.wav", false);
-        
-        deathTimer.start();
-        repaint();
     }
 
     // Maneja el fin del juego
     private void gameOver() {
-        gameState = GameState.GAME_OVER;
-        gameLoop.stop();
+        stopGameLoop();
+        sim.gameState = GameState.GAME_OVER;
         stopAllSounds();
+        saveRecording();
         showGameoverButtons(true);
         repaint();
     }
 
+    // Guarda la partida terminada si se pidió con -Dpacman.record=<archivo>
+    // (se repite con: java Replay <archivo>)
+    private void saveRecording() {
+        String file = System.getProperty("pacman.record");
+        if (file == null || sim.inputLog == null) {
+            return;
+        }
+        sim.inputLog.finish(sim);
+        try {
+            sim.inputLog.save(new File(file).toPath());
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar la grabación: " + e.getMessage());
+        }
+    }
+
     // Alterna entre pausa y reanudación del juego
     private void togglePause() {
-        if (gameState == GameState.PLAYING) {
-            gameState = GameState.PAUSED;
-            gameLoop.stop();
+        if (sim.gameState == GameState.PLAYING) {
+            stopGameLoop();
+            sim.gameState = GameState.PAUSED;
             stopMoveSound();
             showGameButtons(true);
-        } else if (gameState == GameState.PAUSED) {
-            gameState = GameState.PLAYING;
-            gameLoop.start();
+        } else if (sim.gameState == GameState.PAUSED) {
+            sim.gameState = GameState.PLAYING;
+            startGameLoop();
             startMoveSound();
             showGameButtons(false);
             requestFocus();
@@ -996,52 +671,15 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         System.exit(0);
     }
 
-    // Verifica si Pac-Man ha comido comida
-    private void checkFoodCollision() {
-        HashSet<Block> eatenFood = new HashSet<>();
-        for (Block food : foods) {
-            if (collision(pacman, food)) {
-                eatenFood.add(food);
-                score += 10;
-            }
-        }
-        foods.removeAll(eatenFood);
-        
-        // Si no queda comida, recarga el mapa
-        if (foods.isEmpty()) {
-            loadMap();
-            resetPositions();
-        }
-    }
-
-    // Verifica colisión entre dos bloques
-    public boolean collision(Block a, Block b) {
-        return a.x < b.x + b.width &&
-               a.x + a.width > b.x &&
-               a.y < b.y + b.height &&
-               a.y + a.height > b.y;
-    }
-
-    // Reinicia las posiciones de Pac-Man y los fantasmas
-    public void resetPositions() {
-        pacman.reset();
-        for (Block ghost : ghosts) {
-            ghost.reset();
-            ghost.direction = directions[random.nextInt(4)];
-            ghost.updateVelocity();
-        }
-    }
-
     // Reinicia el nivel completo
     private void restartLevel() {
-        score = 0;
-        lives = 3;
-        loadMap();
-        resetPositions();
-        gameState = GameState.PLAYING;
+        stopGameLoop();
+        sim.startNewGame();
+        sim.inputLog = new InputLog(sim);
+        // El bucle está detenido: se descartan las teclas de la partida anterior
+        input.clear();
         showGameButtons(false);
-        showPacman = true;
-        gameLoop.start();
+        startGameLoop();
         requestFocus();
         startMoveSound();
     }
@@ -1090,38 +728,31 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
 
     // Inicia el sonido de movimiento
     private void startMoveSound() {
-        if (gameState == GameState.PLAYING) {
+        if (sim.gameState == GameState.PLAYING) {
             stopAllSounds();
-            moveSound.playSound("./move.wav", true);
-            currentSound = moveSound;
+            audio.play(AudioEngine.MOVE, true);
+            currentSound = AudioEngine.MOVE;
         }
     }
 
     // Detiene el sonido de movimiento
     private void stopMoveSound() {
-        if (currentSound == moveSound) {
-            moveSound.stop();
-            currentSound = null;
+        if (currentSound == AudioEngine.MOVE) {
+            audio.stop(AudioEngine.MOVE);
+            currentSound = -1;
         }
     }
 
-    // Reproduce un sonido (con opción de loop)
-    private void playSound(String path, boolean loop) {
-        stopAllSounds();
-        if (loop) {
-            moveSound.playSound(path, true);
-            currentSound = moveSound;
-        } else {
-            dieSound.playSound(path, false);
-            currentSound = dieSound;
-        }
+    // Reproduce un sonido (con opción de loop); se mezcla con los que ya suenan
+    private void playSound(int sound, boolean loop) {
+        audio.play(sound, loop);
+        currentSound = sound;
     }
 
     // Detiene todos los sonidos
     private void stopAllSounds() {
-        moveSound.stop();
-        dieSound.stop();
-        currentSound = null;
+        audio.stopAll();
+        currentSound = -1;
     }
 
     // =============================================
@@ -1132,9 +763,13 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (!firstFramePainted) {
+            firstFramePainted = true;
+            reportStartup();
+        }
         
         // Dibuja según el estado actual del juego
-        switch (gameState) {
+        switch (sim.gameState) {
             case MAIN_MENU:
                 drawMainMenu(g);
                 break;
@@ -1143,7 +778,10 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
                 break;
             case PLAYING:
             case PLAYER_DIED:
-                drawGame(g);
+                // Con dibujo activo la partida la dibuja el hilo de dibujo encima del panel
+                if (activeRenderer == null || !activeRenderer.isRunning()) {
+                    drawGame(g);
+                }
                 break;
             case PAUSED:
                 drawGame(g);
@@ -1156,6 +794,15 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         }
     }
 
+    // Tiempo hasta el primer cuadro, desde que arrancó la JVM (-Dpacman.startupStats=true)
+    private void reportStartup() {
+        if (Boolean.getBoolean("pacman.startupStats")) {
+            long uptime = java.lang.management.ManagementFactory.getRuntimeMXBean().getUptime();
+            System.out.printf("Primer cuadro a los %d ms de arrancar (recursos: %.1f ms con %d hilos)%n",
+                              uptime, assets.loadNanos / 1e6, assets.threads);
+        }
+    }
+
     // Dibuja el menú principal
     private void drawMainMenu(Graphics g) {
         // Dibuja el fondo del menú
@@ -1175,78 +822,73 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         g.drawString(title, (boardWidth - titleWidth)/2, boardHeight/3 + 50);
     }
 
-    // Dibuja el juego principal
-    private void drawGame(Graphics g) {
-        // Fondo negro
-        g.setColor(Color.BLACK);
-        g.fillRect(0, 0, boardWidth, boardHeight);
+    // Dibuja el juego principal (bench/HotPathBenchmarks también lo usa sobre una imagen en memoria)
+    void drawGame(Graphics g) {
+        // Las capas fijas se preparan la primera vez que se dibuja la partida
+        if (renderer == null) {
+            renderer = new GameRenderer(boardWidth, boardHeight, tileSize, wallImage,
+                                        customFontLarge, customFontMedium, customFontSmall, arialBlackFont);
+        }
+        TickProfiler profiler = this.profiler;
+        long start = profiler != null ? System.nanoTime() : 0;
+        // Tablero: fondo, paredes y comida en una sola imagen
+        renderer.drawBoard(g, sim);
+        if (profiler != null) {
+            start = profiler.accumulate(TickProfiler.PAINT_BOARD, start);
+        }
         
         // Dibuja a Pac-Man si está visible y no está en estado de muerte
-        if (showPacman && gameState != GameState.PLAYER_DIED) {
-            switch (pacman.direction) {
-                case 'U': g.drawImage(pacmanUpImage, pacman.x, pacman.y, pacman.width, pacman.height, null); break;
-                case 'D': g.drawImage(pacmanDownImage, pacman.x, pacman.y, pacman.width, pacman.height, null); break;
-                case 'L': g.drawImage(pacmanLeftImage, pacman.x, pacman.y, pacman.width, pacman.height, null); break;
-                case 'R': g.drawImage(pacmanRightImage, pacman.x, pacman.y, pacman.width, pacman.height, null); break;
+        EntityStore entities = sim.entities;
+        if (sim.showPacman && sim.gameState != GameState.PLAYER_DIED) {
+            int pacman = GameSimulation.PACMAN;
+            int x = interpolate(entities.previousX[pacman], entities.x[pacman]);
+            int y = interpolate(entities.previousY[pacman], entities.y[pacman]);
+            switch (entities.direction[pacman]) {
+                case MazeGraph.UP: g.drawImage(accelerated(pacmanUpImage), x, y, null); break;
+                case MazeGraph.DOWN: g.drawImage(accelerated(pacmanDownImage), x, y, null); break;
+                case MazeGraph.LEFT: g.drawImage(accelerated(pacmanLeftImage), x, y, null); break;
+                case MazeGraph.RIGHT: g.drawImage(accelerated(pacmanRightImage), x, y, null); break;
             }
         }
 
-        // Dibuja todos los fantasmas
-        for (Block ghost : ghosts) {
-            g.drawImage(ghost.image, ghost.x, ghost.y, ghost.width, ghost.height, null);
+        // Dibuja todos los fantasmas (los sprites ya tienen el tamaño de una celda: copia sin escalar)
+        for (int ghost = GameSimulation.FIRST_GHOST; ghost < entities.count; ghost++) {
+            g.drawImage(accelerated(spriteImage(entities.sprite[ghost])), interpolate(entities.previousX[ghost], entities.x[ghost]),
+                        interpolate(entities.previousY[ghost], entities.y[ghost]), null);
         }
-
-        // Dibuja todas las paredes
-        for (Block wall : walls) {
-            g.drawImage(wall.image, wall.x, wall.y, wall.width, wall.height, null);
+        if (profiler != null) {
+            start = profiler.accumulate(TickProfiler.PAINT_SPRITES, start);
         }
 
-        // Dibuja toda la comida
-        g.setColor(Color.orange);
-        for (Block food : foods) {
-            g.fillRect(food.x, food.y, food.width, food.height);
+        // Marcador de vidas y puntuación (imagen en caché)
+        renderer.drawHud(g, sim.lives, sim.score);
+        if (profiler != null) {
+            start = profiler.accumulate(TickProfiler.PAINT_HUD, start);
         }
-
-        // Dibuja la información de vidas y puntuación
-        g.setColor(Color.GREEN);
-        g.setFont(customFontSmall);
-        String livesText = "x";
-        g.drawString(livesText, tileSize/2, tileSize/2);
-        
-        g.setFont(arialBlackFont);
-        String numbers = lives + " SCORE: " + score;
-        int textWidth = g.getFontMetrics().stringWidth(numbers);
-        g.drawString(numbers, tileSize/2 + g.getFontMetrics(customFontSmall).stringWidth(livesText), tileSize/2);
         
         // Si el jugador acaba de morir, muestra mensaje
-        if (gameState == GameState.PLAYER_DIED) {
-            g.setColor(Color.RED);
-            g.setFont(arialBlackFont);
-            String deathText = "PERDISTE UNA VIDA";
-            textWidth = g.getFontMetrics().stringWidth(deathText);
-            g.drawString(deathText, (boardWidth - textWidth)/2, boardHeight/2);
+        if (sim.gameState == GameState.PLAYER_DIED) {
+            renderer.drawDeathOverlay(g);
+            if (profiler != null) {
+                profiler.accumulate(TickProfiler.PAINT_OVERLAY, start);
+            }
         }
+
+        // Panel del perfil (F3), debajo del marcador
+        if (showProfile) {
+            profiler.draw(g, profileX(), tileSize);
+        }
+    }
+
+    // Columna del panel del perfil: pegado al borde derecho del tablero
+    private int profileX() {
+        return boardWidth - TickProfiler.WIDTH;
     }
 
     // Dibuja la pantalla de pausa
     private void drawPauseScreen(Graphics g) {
-        // Fondo semitransparente
-        g.setColor(new Color(0, 0, 0, 180));
-        g.fillRect(0, 0, boardWidth, boardHeight);
-        
-        // Texto "PAUSA"
-        g.setColor(Color.YELLOW);
-        g.setFont(customFontLarge);
-        String pauseText = "PAUSA";
-        int textWidth = g.getFontMetrics().stringWidth(pauseText);
-        g.drawString(pauseText, (boardWidth - textWidth)/2, boardHeight/2 - 120);
-        
-        // Instrucción para continuar
-        g.setColor(Color.WHITE);
-        g.setFont(customFontMedium);
-        String instruction = "Presiona P para continuar";
-        textWidth = g.getFontMetrics().stringWidth(instruction);
-        g.drawString(instruction, (boardWidth - textWidth)/2, boardHeight/2 + 260);
+        // Fondo semitransparente y textos (imagen en caché)
+        renderer.drawPauseOverlay(g);
         
         // Muestra botones relevantes para pausa
         showGameButtons(true);
@@ -1254,40 +896,38 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
 
     // Dibuja la pantalla de fin de juego
     private void drawGameOver(Graphics g) {
-        // Fondo semitransparente
-        g.setColor(new Color(0, 0, 0, 200));
-        g.fillRect(0, 0, boardWidth, boardHeight);
-        
-        // Texto "GAME OVER"
-        g.setColor(Color.RED);
-        g.setFont(customFontLarge);
-        String gameOverText = "GAME OVER";
-        int textWidth = g.getFontMetrics().stringWidth(gameOverText);
-        g.drawString(gameOverText, (boardWidth - textWidth)/2, boardHeight/2 - 80);
-        
-        // Puntuación
-        g.setColor(Color.YELLOW);
-        g.setFont(customFontMedium);
-        String scoreLabel = "PUNTUACION: ";
-        int labelWidth = g.getFontMetrics().stringWidth(scoreLabel);
-        
-        g.setFont(arialBlackFont);
-        String scoreNumbers = String.valueOf(score);
-        int numbersWidth = g.getFontMetrics().stringWidth(scoreNumbers);
-        
-        int totalWidth = labelWidth + numbersWidth;
-        int startX = (boardWidth - totalWidth)/2;
-        
-        g.setFont(customFontMedium);
-        g.drawString(scoreLabel, startX, boardHeight/2 - 30);
-        
-        g.setFont(arialBlackFont);
-        g.drawString(scoreNumbers, startX + labelWidth, boardHeight/2 - 30);
+        // Fondo semitransparente, texto y puntuación (imagen en caché mientras no cambie la puntuación)
+        renderer.drawGameOverOverlay(g, sim.score);
         
         // Muestra botones relevantes para fin de juego
         showGameoverButtons(true);
     }
 
+    // Posición entre el tick anterior y el actual según la fracción de tick transcurrida
+    private int interpolate(int previous, int current) {
+        // Un salto de más de una celda es el teletransporte del túnel: no se interpola
+        if (sim.gameState != GameState.PLAYING || Math.abs(current - previous) > tileSize) {
+            return current;
+        }
+        return previous + (int) Math.round((current - previous) * interpolation);
+    }
+
+    // Copia en memoria de vídeo de un sprite cuando dibuja el hilo de dibujo activo
+    private Image accelerated(Image image) {
+        return activeRenderer != null ? activeRenderer.accelerated(image) : image;
+    }
+
+    // Imagen con la que se dibuja cada sprite de la simulación
+    private Image spriteImage(int sprite) {
+        switch (sprite) {
+            case GameSimulation.SPRITE_BLUE_GHOST: return blueGhostImage;
+            case GameSimulation.SPRITE_ORANGE_GHOST: return orangeGhostImage;
+            case GameSimulation.SPRITE_PINK_GHOST: return pinkGhostImage;
+            case GameSimulation.SPRITE_RED_GHOST: return redGhostImage;
+            default: return pacmanRightImage;
+        }
+    }
+
     // Muestra u oculta botones durante el juego
     private void showGameButtons(boolean show) {
         startButton.setVisible(false);
@@ -1306,65 +946,166 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         resumeButton.setVisible(!show);
     }
 
-    // Carga el mapa del juego desde tileMap
-    public void loadMap() {
-        walls = new HashSet<>();
-        foods = new HashSet<>();
-        ghosts = new HashSet<>();
-
-        // Recorre cada celda del mapa
-        for (int r = 0; r < rowCount; r++) {
-            for (int c = 0; c < columnCount; c++) {
-                char tileMapChar = tileMap[r].charAt(c);
-                int x = c * tileSize;
-                int y = r * tileSize;
-
-                // Crea el elemento correspondiente según el carácter
-                switch (tileMapChar) {
-                    case 'X': // Pared
-                        walls.add(new Block(wallImage, x, y, tileSize, tileSize));
-                        break;
-                    case 'b': // Fantasma azul
-                        ghosts.add(new Block(blueGhostImage, x, y, tileSize, tileSize));
-                        break;
-                    case 'o': // Fantasma naranja
-                        ghosts.add(new Block(orangeGhostImage, x, y, tileSize, tileSize));
-                        break;
-                    case 'p': // Fantasma rosa
-                        ghosts.add(new Block(pinkGhostImage, x, y, tileSize, tileSize));
-                        break;
-                    case 'r': // Fantasma rojo
-                        ghosts.add(new Block(redGhostImage, x, y, tileSize, tileSize));
-                        break;
-                    case 'P': // Pac-Man
-                        pacman = new Block(pacmanRightImage, x, y, tileSize, tileSize);
-                        break;
-                    case ' ': // Comida
-                        foods.add(new Block(null, x + 14, y + 14, 4, 4));
-                        break;
-                }
-            }
-        }
-    }
-
     // =============================================
     // MANEJADORES DE EVENTOS
     // =============================================
 
-    // Se ejecuta en cada tick del temporizador del juego
+    // Se ejecuta en cada disparo del temporizador: simula los ticks fijos que tocan y dibuja
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (gameState == GameState.PLAYING) {
-            move();
+        int frameEvents = advanceSimulation(System.nanoTime());
+        handleSimulationEvents(frameEvents);
+        repaintChanged(frameEvents);
+        frameFinished(System.nanoTime());
+    }
+
+    // Fin de un cuadro (temporizador o hilo de dibujo activo): tiempos entre cuadros y, con
+    // perfil, una muestra por fase con lo que sumaron todas las zonas dibujadas en el cuadro
+    void frameFinished(long now) {
+        frameStats.frame(now);
+        if (profiler != null) {
+            profiler.frame(now);
         }
-        repaint();
+    }
+
+    // Simula los ticks fijos que tocan hasta 'now' y devuelve los eventos de todos ellos.
+    // La llama el temporizador en el hilo de Swing o el hilo de dibujo activo, nunca los dos.
+    int advanceSimulation(long now) {
+        accumulatedNanos += Math.min(now - lastFrameNanos, MAX_FRAME_NANOS);
+        lastFrameNanos = now;
+        
+        // Avanza la simulación mientras se juega o durante la pausa tras perder una vida
+        int frameEvents = 0;
+        while (accumulatedNanos >= GameSimulation.TICK_NANOS &&
+               (sim.gameState == GameState.PLAYING || sim.gameState == GameState.PLAYER_DIED)) {
+            // Teclas pulsadas antes del final de este tick (las posteriores esperan al siguiente)
+            long tickEnd = now - accumulatedNanos + GameSimulation.TICK_NANOS;
+            int events = sim.step(input.drain(tickEnd, now));
+            accumulatedNanos -= GameSimulation.TICK_NANOS;
+            frameEvents |= events;
+        }
+        
+        // Parte del siguiente tick que ya pasó, para dibujar entre la posición anterior y la actual
+        interpolation = Math.min(1.0, accumulatedNanos / (double) GameSimulation.TICK_NANOS);
+        return frameEvents;
+    }
+
+    // Dibuja solo las zonas que cambiaron: posición anterior y nueva de cada personaje que se
+    // movió, la comida comida y el marcador si cambió. Si nada cambió (pausa de muerte) no dibuja.
+    // Se pinta cada zona por separado con paintImmediately: repaint(Rectangle) las uniría
+    // en un solo rectángulo que, con personajes lejanos, cubre casi todo el tablero.
+    private void repaintChanged(int events) {
+        EntityStore entities = sim.entities;
+        int count = entities.count;
+        // Cambios de estado, vida perdida, nivel nuevo o demasiados personajes: panel completo
+        if (events != 0 || sim.gameState != paintedState || paintedX.length != count || paintedFood == null ||
+            count * 2 + 3 > MAX_DIRTY_REGIONS) {
+            rememberPainted();
+            repaint();
+            return;
+        }
+
+        dirtyCount = 0;
+        int size = entities.size;
+        for (int i = 0; i < count; i++) {
+            int x = interpolate(entities.previousX[i], entities.x[i]);
+            int y = interpolate(entities.previousY[i], entities.y[i]);
+            if (x != paintedX[i] || y != paintedY[i]) {
+                addDirty(paintedX[i], paintedY[i], size, size);
+                addDirty(x, y, size, size);
+                paintedX[i] = x;
+                paintedY[i] = y;
+            }
+        }
+        // Piezas de comida que cambiaron (se comparan 64 columnas a la vez)
+        TileBitmap food = sim.foodBits;
+        boolean foodChanged = false;
+        for (int r = 0; r < food.rows; r++) {
+            for (int w = 0; w < food.wordsPerRow(); w++) {
+                long changed = food.difference(paintedFood, r, w);
+                while (changed != 0) {
+                    int c = (w << 6) + Long.numberOfTrailingZeros(changed);
+                    changed &= changed - 1;
+                    addDirty(c * tileSize + sim.foodOffset, r * tileSize + sim.foodOffset, sim.foodSize, sim.foodSize);
+                    foodChanged = true;
+                }
+            }
+        }
+        if (foodChanged) {
+            paintedFood.copyFrom(food);
+        }
+        // Marcador de vidas y puntuación
+        if (sim.lives != paintedLives || sim.score != paintedScore) {
+            addDirty(0, 0, boardWidth, tileSize);
+            paintedLives = sim.lives;
+            paintedScore = sim.score;
+        }
+        // El panel del perfil cambia en cada cuadro
+        if (showProfile) {
+            addDirty(profileX(), tileSize, TickProfiler.WIDTH, TickProfiler.HEIGHT);
+        }
+
+        for (int i = 0; i < dirtyCount; i++) {
+            paintImmediately(dirtyX[i], dirtyY[i], dirtyWidth[i], dirtyHeight[i]);
+        }
+    }
+
+    // Agrega una zona sucia, uniéndola con las que ya se superponen con ella
+    private void addDirty(int x, int y, int width, int height) {
+        int i = 0;
+        while (i < dirtyCount) {
+            if (x < dirtyX[i] + dirtyWidth[i] && x + width > dirtyX[i] &&
+                y < dirtyY[i] + dirtyHeight[i] && y + height > dirtyY[i]) {
+                // Se une con esta zona, se quita de la lista y se vuelve a revisar desde el principio
+                int right = Math.max(x + width, dirtyX[i] + dirtyWidth[i]);
+                int bottom = Math.max(y + height, dirtyY[i] + dirtyHeight[i]);
+                x = Math.min(x, dirtyX[i]);
+                y = Math.min(y, dirtyY[i]);
+                width = right - x;
+                height = bottom - y;
+                dirtyCount--;
+                dirtyX[i] = dirtyX[dirtyCount];
+                dirtyY[i] = dirtyY[dirtyCount];
+                dirtyWidth[i] = dirtyWidth[dirtyCount];
+                dirtyHeight[i] = dirtyHeight[dirtyCount];
+                i = 0;
+            } else {
+                i++;
+            }
+        }
+        dirtyX[dirtyCount] = x;
+        dirtyY[dirtyCount] = y;
+        dirtyWidth[dirtyCount] = width;
+        dirtyHeight[dirtyCount] = height;
+        dirtyCount++;
+    }
+
+    // Guarda lo que muestra un redibujado completo del panel
+    private void rememberPainted() {
+        EntityStore entities = sim.entities;
+        if (paintedX.length != entities.count) {
+            paintedX = new int[entities.count];
+            paintedY = new int[entities.count];
+        }
+        for (int i = 0; i < entities.count; i++) {
+            paintedX[i] = interpolate(entities.previousX[i], entities.x[i]);
+            paintedY[i] = interpolate(entities.previousY[i], entities.y[i]);
+        }
+        paintedState = sim.gameState;
+        if (paintedFood == null || paintedFood.rows != sim.foodBits.rows || paintedFood.columns != sim.foodBits.columns) {
+            paintedFood = sim.foodBits.copy();
+        } else {
+            paintedFood.copyFrom(sim.foodBits);
+        }
+        paintedLives = sim.lives;
+        paintedScore = sim.score;
     }
 
     // Maneja eventos de teclas presionadas
     @Override
     public void keyPressed(KeyEvent e) {
         // Si está en game over, Enter reinicia el juego
-        if (gameState == GameState.GAME_OVER) {
+        if (sim.gameState == GameState.GAME_OVER) {
             if (e.getKeyCode() == KeyEvent.VK_ENTER) {
                 restartLevel();
             }
@@ -1373,48 +1114,49 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
 
         // Maneja diferentes teclas según el código
         switch (e.getKeyCode()) {
+            case KeyEvent.VK_F3: // Tecla F3: muestra u oculta el perfil (con -Dpacman.profile=true)
+                if (profiler != null) {
+                    showProfile = !showProfile;
+                    repaint();
+                }
+                break;
             case KeyEvent.VK_P: // Tecla P: pausa/reanuda
-                if (gameState == GameState.PLAYING || gameState == GameState.PAUSED) {
+                if (sim.gameState == GameState.PLAYING || sim.gameState == GameState.PAUSED) {
                     togglePause();
                 }
                 break;
             case KeyEvent.VK_UP: // Flecha arriba
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'U';
+                if (sim.gameState == GameState.PLAYING) input.offer('U', System.nanoTime());
                 break;
             case KeyEvent.VK_DOWN: // Flecha abajo
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'D';
+                if (sim.gameState == GameState.PLAYING) input.offer('D', System.nanoTime());
                 break;
             case KeyEvent.VK_LEFT: // Flecha izquierda
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'L';
+                if (sim.gameState == GameState.PLAYING) input.offer('L', System.nanoTime());
                 break;
             case KeyEvent.VK_RIGHT: // Flecha derecha
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'R';
+                if (sim.gameState == GameState.PLAYING) input.offer('R', System.nanoTime());
                 break;
             case KeyEvent.VK_W: // Tecla W (arriba)
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'U';
+                if (sim.gameState == GameState.PLAYING) input.offer('U', System.nanoTime());
                 break;
             case KeyEvent.VK_S: // Tecla S (abajo)
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'D';
+                if (sim.gameState == GameState.PLAYING) input.offer('D', System.nanoTime());
                 break;
             case KeyEvent.VK_A: // Tecla A (izquierda)
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'L';
+                if (sim.gameState == GameState.PLAYING) input.offer('L', System.nanoTime());
                 break;
             case KeyEvent.VK_D: // Tecla D (derecha)
-                if (gameState == GameState.PLAYING) pacman.nextDirection = 'R';
+                if (sim.gameState == GameState.PLAYING) input.offer('R', System.nanoTime());
                 break;
             case KeyEvent.VK_ESCAPE: // Tecla ESC
-                if (gameState == GameState.PLAYING) {
+                if (sim.gameState == GameState.PLAYING) {
                     togglePause();
-                } else if (gameState == GameState.PAUSED) {
+                } else if (sim.gameState == GameState.PAUSED) {
                     showMainMenu();
                 }
                 break;
         }
-        
-        // Intenta cambiar de dirección si está jugando
-        if (gameState == GameState.PLAYING) {
-            tryChangeDirection();
-        }
     }
 
     // Métodos no utilizados de la interfaz KeyListener
@@ -1438,72 +1180,23 @@ public class PacMan extends JPanel implements ActionListener, KeyListener {
         // Muestra la decoración de ventana (bordes, título)
         frame.setUndecorated(false);
         
-        // Crea una instancia del juego
-        PacMan game = new PacMan();
+        // Ventana de carga con progreso mientras se leen los recursos
+        SplashWindow splash = new SplashWindow();
+        splash.setVisible(true);
+        // Crea una instancia del juego (lee fuente e imágenes en paralelo)
+        PacMan game = new PacMan(splash);
         // Añade el juego a la ventana
         frame.add(game);
         // Ajusta el tamaño de la ventana al contenido
         frame.pack();
         // Centra la ventana en la pantalla
         frame.setLocationRelativeTo(null);
-        // Hace visible la ventana
+        // Hace visible la ventana y cierra la de carga
         frame.setVisible(true);
+        splash.dispose();
         // Establece foco en el juego para recibir eventos de teclado
         game.requestFocus();
         // Establece el icono de la ventana
         frame.setIconImage(new ImageIcon(PacMan.class.getResource("icon.png")).getImage());
     }
 }
-
-// Clase para manejar la reproducción de sonidos
-class SoundManager {
-    // Clip de audio que se está reproduciendo
-    private Clip clip;
-    // Indica si el sonido debe repetirse
-    private boolean isLooping = false;
-
-    // Reproduce un sonido desde una ruta
-    public void playSound(String path, boolean loop) {
-        // Detiene cualquier sonido previo
-        stop();
-        isLooping = loop;
-        
-        try {
-            // Intenta cargar el sonido como recurso interno
-            InputStream audioSrc = getClass().getResourceAsStream(path);
-            if (audioSrc == null) {
-                // Si no está como recurso, carga como archivo externo
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(path));
-                clip = AudioSystem.getClip();
-                clip.open(audioInputStream);
-            } else {
-                // Carga el recurso interno
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(audioSrc);
-                clip = AudioSystem.getClip();
-                clip.open(audioInputStream);
-            }
-            
-            // Reproduce en bucle o una sola vez según el parámetro
-            if (loop) {
-                clip.loop(Clip.LOOP_CONTINUOUSLY);
-            } else {
-                clip.start();
-            }
-        } catch (Exception e) {
-            System.err.println("Error al reproducir sonido: " + e.getMessage());
-        }
-    }
-
-    // Detiene la reproducción del sonido
-    public void stop() {
-        if (clip != null) {
-            clip.stop();
-            clip.close();
-        }
-    }
-
-    // Verifica si hay un sonido reproduciéndose
-    public boolean isPlaying() {
-        return clip != null && clip.isRunning();
-    }
-}
\ No newline at end of file
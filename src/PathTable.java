@@ -0,0 +1,206 @@
+// Importa clases para leer y escribir archivos por canales
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+// Importa clases para manejo de rutas y archivos
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+// Importa mapa concurrente para compartir tablas entre hilos
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tabla precalculada de caminos más cortos entre todas las parejas de celdas transitables.
+// Para cualquier origen y destino guarda la primera dirección a tomar y la distancia,
+// así que cualquier regla de persecución (emboscada, esquinas, etc.) es una sola lectura.
+// La tabla se guarda en un archivo junto a las clases del juego y se abre como
+// archivo mapeado en memoria, para no repetir el cálculo O(V·E) en cada arranque.
+class PathTable {
+    // Marca y versión del formato del archivo
+    private static final int MAGIC = 0x504D5054; // "PMPT"
+    private static final int VERSION = 1;
+    // Tamaño de la cabecera: marca, versión, hash, filas, columnas, celdas transitables
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4;
+
+    // Tablas ya abiertas en este proceso, por huella del laberinto.
+    // La tabla es de solo lectura, así que todas las simulaciones (de cualquier hilo) comparten una.
+    private static final ConcurrentHashMap<Long, PathTable> SHARED = new ConcurrentHashMap<>();
+
+    // Huella del laberinto para el que se calculó la tabla
+    final long mazeHash;
+    // Número de celdas transitables
+    private final int walkableCount;
+    // Índice compacto de cada celda del tablero (-1 para paredes)
+    private final int[] walkableIndex;
+    // Datos de la tabla (archivo mapeado, o memoria normal si no se pudo guardar)
+    private final ByteBuffer data;
+    // Posición donde empiezan las distancias dentro de los datos
+    private final int distanceOffset;
+
+    private PathTable(MazeGraph maze, long mazeHash, ByteBuffer data) {
+        this.mazeHash = mazeHash;
+        this.walkableIndex = buildWalkableIndex(maze);
+        this.walkableCount = countWalkable(walkableIndex);
+        this.data = data;
+        this.distanceOffset = HEADER_SIZE + walkableCount * walkableCount;
+    }
+
+    // Primera dirección (0-3) para ir de una celda a otra (-1 si es la misma o no hay camino)
+    int nextDirection(int fromTile, int toTile) {
+        int from = walkableIndex[fromTile];
+        int to = walkableIndex[toTile];
+        if (from < 0 || to < 0) {
+            return -1;
+        }
+        return data.get(HEADER_SIZE + from * walkableCount + to);
+    }
+
+    // Distancia en celdas entre dos celdas (-1 si no hay camino)
+    int distance(int fromTile, int toTile) {
+        int from = walkableIndex[fromTile];
+        int to = walkableIndex[toTile];
+        if (from < 0 || to < 0) {
+            return -1;
+        }
+        return data.getShort(distanceOffset + (from * walkableCount + to) * 2);
+    }
+
+    // Indica si la tabla corresponde a este laberinto
+    boolean matches(MazeGraph maze) {
+        return mazeHash == hash(maze);
+    }
+
+    // Tabla compartida del proceso para este laberinto (se abre o calcula una sola vez)
+    static PathTable shared(MazeGraph maze) {
+        return SHARED.computeIfAbsent(hash(maze), h -> loadOrBuild(maze, defaultDirectory()));
+    }
+
+    // Abre la tabla guardada para este laberinto, o la calcula y la guarda si no existe
+    static PathTable loadOrBuild(MazeGraph maze, Path directory) {
+        long mazeHash = hash(maze);
+        Path file = directory.resolve("maze-" + Long.toHexString(mazeHash) + ".paths");
+        try {
+            if (Files.exists(file)) {
+                ByteBuffer mapped = map(file);
+                if (headerMatches(mapped, maze, mazeHash)) {
+                    return new PathTable(maze, mazeHash, mapped);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error leyendo tabla de caminos: " + e.getMessage());
+        }
+
+        // No hay tabla válida: se calcula y se intenta guardar para el próximo arranque
+        ByteBuffer built = build(maze, mazeHash);
+        try {
+            // Se escribe en un temporal y se renombra, para que nadie lea un archivo a medias
+            Path temp = Files.createTempFile(directory, "maze-", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                built.rewind();
+                while (built.hasRemaining()) {
+                    channel.write(built);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new PathTable(maze, mazeHash, map(file));
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("No se pudo guardar la tabla de caminos: " + e.getMessage());
+            return new PathTable(maze, mazeHash, built);
+        }
+    }
+
+    // Carpeta por defecto: junto a las clases y recursos del juego (o la carpeta temporal)
+    static Path defaultDirectory() {
+        try {
+            Path classes = Paths.get(PathTable.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(classes) && Files.isWritable(classes)) {
+                return classes;
+            }
+        } catch (Exception e) {
+            // Si no se puede resolver la ubicación, se usa la carpeta temporal
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    // Calcula la tabla completa: un recorrido en anchura por cada celda destino
+    private static ByteBuffer build(MazeGraph maze, long mazeHash) {
+        int[] walkableIndex = buildWalkableIndex(maze);
+        int count = countWalkable(walkableIndex);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * count * 3);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(mazeHash)
+              .putInt(maze.rows).putInt(maze.columns).putInt(count);
+        int distanceOffset = HEADER_SIZE + count * count;
+
+        DistanceField field = new DistanceField(maze);
+        for (int toTile = 0; toTile < walkableIndex.length; toTile++) {
+            int to = walkableIndex[toTile];
+            if (to < 0) {
+                continue;
+            }
+            field.recompute(toTile);
+            for (int fromTile = 0; fromTile < walkableIndex.length; fromTile++) {
+                int from = walkableIndex[fromTile];
+                if (from < 0) {
+                    continue;
+                }
+                int distance = field.distance(fromTile);
+                boolean reachable = distance != DistanceField.UNREACHABLE;
+                int direction = reachable && distance > 0 ? field.bestDirection(fromTile, maze.exits(fromTile)) : -1;
+                buffer.put(HEADER_SIZE + from * count + to, (byte) direction);
+                buffer.putShort(distanceOffset + (from * count + to) * 2, (short) (reachable ? distance : -1));
+            }
+        }
+        return buffer;
+    }
+
+    // Abre un archivo como memoria de solo lectura
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    // Verifica que la cabecera y el tamaño del archivo corresponden a este laberinto
+    private static boolean headerMatches(ByteBuffer buffer, MazeGraph maze, long mazeHash) {
+        if (buffer.capacity() < HEADER_SIZE) {
+            return false;
+        }
+        int count = buffer.getInt(24);
+        return buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION && buffer.getLong(8) == mazeHash
+            && buffer.getInt(16) == maze.rows && buffer.getInt(20) == maze.columns
+            && count == countWalkable(buildWalkableIndex(maze))
+            && buffer.capacity() == HEADER_SIZE + count * count * 3;
+    }
+
+    // Numera las celdas transitables de forma compacta
+    private static int[] buildWalkableIndex(MazeGraph maze) {
+        int[] index = new int[maze.rows * maze.columns];
+        int next = 0;
+        for (int tile = 0; tile < index.length; tile++) {
+            index[tile] = maze.exits(tile) != 0 ? next++ : -1;
+        }
+        return index;
+    }
+
+    private static int countWalkable(int[] walkableIndex) {
+        int count = 0;
+        for (int index : walkableIndex) {
+            if (index >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Huella FNV-1a de las dimensiones y salidas del laberinto
+    static long hash(MazeGraph maze) {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ maze.rows) * 0x100000001b3L;
+        h = (h ^ maze.columns) * 0x100000001b3L;
+        for (int tile = 0; tile < maze.rows * maze.columns; tile++) {
+            h = (h ^ maze.exits(tile)) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,75 @@
+// Importa clases para leer los recursos de audio
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+// Importa clases de audio
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+// Sonido decodificado una sola vez a PCM con signo de 16 bits (little-endian), con la misma
+// frecuencia y canales que el archivo. Reproducirlo no vuelve a leer ni decodificar nada.
+final class PcmSound {
+    // Formato de las muestras
+    final AudioFormat format;
+    // Muestras
+    final byte[] data;
+
+    private PcmSound(AudioFormat format, byte[] data) {
+        this.format = format;
+        this.data = data;
+    }
+
+    // Cuadros (una muestra por canal) que dura el sonido
+    int frames() {
+        return data.length / format.getFrameSize();
+    }
+
+    // Muestras en mono (media de los canales) remuestreadas a 'sampleRate' por interpolación lineal
+    short[] monoSamples(float sampleRate) {
+        int channels = format.getChannels();
+        int frames = frames();
+        short[] mono = new short[frames];
+        for (int f = 0; f < frames; f++) {
+            int sum = 0;
+            for (int c = 0; c < channels; c++) {
+                int i = (f * channels + c) * 2;
+                sum += (short) ((data[i] & 0xFF) | (data[i + 1] << 8));
+            }
+            mono[f] = (short) (sum / channels);
+        }
+        if (format.getSampleRate() == sampleRate || frames == 0) {
+            return mono;
+        }
+        double step = format.getSampleRate() / sampleRate;
+        short[] resampled = new short[(int) (frames / step)];
+        for (int i = 0; i < resampled.length; i++) {
+            double position = i * step;
+            int index = (int) position;
+            int next = Math.min(index + 1, frames - 1);
+            double fraction = position - index;
+            resampled[i] = (short) Math.round(mono[index] + (mono[next] - mono[index]) * fraction);
+        }
+        return resampled;
+    }
+
+    // Lee y decodifica un recurso de audio (por ejemplo "./move.wav")
+    static PcmSound decode(String resource) throws IOException {
+        InputStream in = PcmSound.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("No existe el recurso " + resource);
+        }
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new BufferedInputStream(in))) {
+            AudioFormat original = source.getFormat();
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, original.getSampleRate(), 16,
+                                              original.getChannels(), original.getChannels() * 2,
+                                              original.getSampleRate(), false);
+            try (AudioInputStream converted = AudioSystem.getAudioInputStream(pcm, source)) {
+                return new PcmSound(pcm, converted.readAllBytes());
+            }
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Formato de audio no soportado en " + resource, e);
+        }
+    }
+}
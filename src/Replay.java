@@ -0,0 +1,36 @@
+// Importa clase para rutas de archivos
+import java.nio.file.Paths;
+
+// Herramienta de línea de comandos: repite una partida grabada sin pantalla.
+// Uso: java Replay <archivo.replay> [repeticiones]
+// Verifica que el estado final es idéntico al grabado y muestra la velocidad alcanzada.
+public class Replay {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Uso: java Replay <archivo.replay> [repeticiones]");
+            System.exit(2);
+        }
+        InputLog log = InputLog.load(Paths.get(args[0]));
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        long start = System.nanoTime();
+        int mismatches = 0;
+        for (int i = 0; i < repetitions; i++) {
+            GameSimulation sim = log.replay();
+            if (sim.stateHash() != log.endHash) {
+                mismatches++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long ticks = log.endTick * repetitions;
+        // Cuántas veces más rápido que el juego real (un tick = TICK_MILLIS)
+        double speedup = ticks * GameSimulation.TICK_MILLIS / 1000.0 / seconds;
+
+        System.out.printf("semilla %d, %d ticks, %d cambios de dirección%n", log.seed, log.endTick, log.size());
+        System.out.printf("%d repeticiones en %.2f s (%.0f ticks/s, %.0fx tiempo real)%n",
+                repetitions, seconds, ticks / seconds, speedup);
+        System.out.println(mismatches == 0 ? "Repetición idéntica a la grabación"
+                                           : mismatches + " repeticiones distintas a la grabación");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,106 @@
+// Importa utilidades para limpiar el acumulador
+import java.util.Arrays;
+
+// Mezclador por software: suma hasta N voces de sonidos ya cargados (mono, 16 bits, todos a la
+// misma frecuencia) en bloques de tamaño fijo, listos para escribir en una sola línea de salida.
+// No tiene hilos ni bloqueos: lo usa solo el hilo de audio.
+final class SoftwareMixer {
+    // Muestras de cada sonido
+    private final short[][] sounds;
+    // Sonido de cada voz (-1 = libre), posición en sus muestras y si se repite
+    private final int[] voiceSound;
+    private final int[] voicePosition;
+    private final boolean[] voiceLoop;
+    // Orden en que empezó cada voz (si no hay voces libres se reutiliza la más antigua)
+    private final long[] voiceStarted;
+    private long started;
+    // Suma de las voces antes de recortar a 16 bits
+    private final int[] accumulator;
+
+    // Constructor: 'voices' voces, bloques de hasta 'chunkFrames' muestras
+    SoftwareMixer(short[][] sounds, int voices, int chunkFrames) {
+        this.sounds = sounds;
+        voiceSound = new int[voices];
+        voicePosition = new int[voices];
+        voiceLoop = new boolean[voices];
+        voiceStarted = new long[voices];
+        accumulator = new int[chunkFrames];
+        Arrays.fill(voiceSound, -1);
+    }
+
+    // Empieza a sonar un sonido en una voz libre (o en la más antigua)
+    void play(int sound, boolean loop) {
+        if (sounds[sound].length == 0) {
+            return;
+        }
+        int voice = 0;
+        for (int v = 0; v < voiceSound.length; v++) {
+            if (voiceSound[v] < 0) {
+                voice = v;
+                break;
+            }
+            if (voiceStarted[v] < voiceStarted[voice]) {
+                voice = v;
+            }
+        }
+        voiceSound[voice] = sound;
+        voicePosition[voice] = 0;
+        voiceLoop[voice] = loop;
+        voiceStarted[voice] = ++started;
+    }
+
+    // Detiene todas las voces de un sonido
+    void stop(int sound) {
+        for (int v = 0; v < voiceSound.length; v++) {
+            if (voiceSound[v] == sound) {
+                voiceSound[v] = -1;
+            }
+        }
+    }
+
+    // Detiene todas las voces
+    void stopAll() {
+        Arrays.fill(voiceSound, -1);
+    }
+
+    // Voces sonando
+    int activeVoices() {
+        int active = 0;
+        for (int sound : voiceSound) {
+            if (sound >= 0) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    // Mezcla 'frames' muestras en 'out' (16 bits con signo, little-endian); sin voces, silencio
+    void mix(byte[] out, int frames) {
+        int[] acc = accumulator;
+        Arrays.fill(acc, 0, frames, 0);
+        for (int v = 0; v < voiceSound.length; v++) {
+            if (voiceSound[v] < 0) {
+                continue;
+            }
+            short[] samples = sounds[voiceSound[v]];
+            int position = voicePosition[v];
+            for (int i = 0; i < frames; i++) {
+                if (position == samples.length) {
+                    if (!voiceLoop[v]) {
+                        voiceSound[v] = -1;
+                        break;
+                    }
+                    position = 0;
+                }
+                acc[i] += samples[position++];
+            }
+            voicePosition[v] = position;
+        }
+        // Recorta la suma al rango de 16 bits
+        for (int i = 0; i < frames; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, acc[i]));
+            out[2 * i] = (byte) sample;
+            out[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// Importa utilidades para rellenar arrays
+import java.util.Arrays;
+
+// Rejilla espacial uniforme (una cubeta por celda del tablero) para encontrar
+// entidades cercanas sin comparar todas contra todas.
+// Cada entidad se guarda en la celda de su esquina superior izquierda, con listas
+// enlazadas dentro de arrays, así que mover o consultar no crea objetos.
+// Supone que ninguna entidad es más grande que una celda.
+class SpatialHash {
+    // Número de filas de la rejilla
+    final int rows;
+    // Número de columnas de la rejilla
+    final int columns;
+    // Tamaño de cada celda en píxeles
+    final int cellSize;
+
+    // Primera entidad de cada celda (-1 = celda vacía)
+    private final int[] head;
+    // Siguiente entidad en la misma celda (-1 = fin de la lista)
+    private final int[] next;
+    // Entidad anterior en la misma celda (-1 = es la primera)
+    private final int[] previous;
+    // Celda en la que está cada entidad (-1 = no insertada)
+    private final int[] cellOf;
+    // Posición y tamaño de cada entidad en píxeles
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] widths;
+    private final int[] heights;
+
+    // Constructor: crea una rejilla vacía con espacio para 'capacity' entidades
+    SpatialHash(int rows, int columns, int cellSize, int capacity) {
+        this.rows = rows;
+        this.columns = columns;
+        this.cellSize = cellSize;
+        this.head = new int[rows * columns];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.cellOf = new int[capacity];
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.widths = new int[capacity];
+        this.heights = new int[capacity];
+        clear();
+    }
+
+    // Vacía la rejilla
+    void clear() {
+        Arrays.fill(head, -1);
+        Arrays.fill(cellOf, -1);
+    }
+
+    // Número máximo de entidades que admite la rejilla
+    int capacity() {
+        return cellOf.length;
+    }
+
+    // Inserta una entidad con su rectángulo en píxeles
+    void insert(int id, int x, int y, int width, int height) {
+        widths[id] = width;
+        heights[id] = height;
+        xs[id] = x;
+        ys[id] = y;
+        link(id, cellIndex(x, y));
+    }
+
+    // Actualiza la posición de una entidad; solo cambia de cubeta si cambió de celda
+    void move(int id, int x, int y) {
+        xs[id] = x;
+        ys[id] = y;
+        int cell = cellIndex(x, y);
+        if (cell != cellOf[id]) {
+            unlink(id);
+            link(id, cell);
+        }
+    }
+
+    // Quita una entidad de la rejilla
+    void remove(int id) {
+        unlink(id);
+    }
+
+    // Escribe en 'out' las entidades cuyo rectángulo se superpone al indicado.
+    // Devuelve cuántas encontró (como máximo out.length).
+    int query(int x, int y, int width, int height, int[] out) {
+        // Las entidades se guardan por su esquina, así que una entidad de la celda
+        // anterior puede sobresalir hasta este rectángulo: se amplía una celda hacia atrás
+        int firstRow = clampRow(Math.floorDiv(y - cellSize, cellSize));
+        int lastRow = clampRow(Math.floorDiv(y + height - 1, cellSize));
+        int firstColumn = clampColumn(Math.floorDiv(x - cellSize, cellSize));
+        int lastColumn = clampColumn(Math.floorDiv(x + width - 1, cellSize));
+
+        int found = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                for (int id = head[r * columns + c]; id != -1; id = next[id]) {
+                    // Misma prueba de superposición que collision()
+                    if (xs[id] < x + width && xs[id] + widths[id] > x &&
+                        ys[id] < y + height && ys[id] + heights[id] > y) {
+                        if (found == out.length) {
+                            return found;
+                        }
+                        out[found++] = id;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Celda de una posición; las posiciones fuera del tablero (túnel) van a la celda del borde
+    private int cellIndex(int x, int y) {
+        return clampRow(Math.floorDiv(y, cellSize)) * columns + clampColumn(Math.floorDiv(x, cellSize));
+    }
+
+    private int clampRow(int row) {
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    private int clampColumn(int column) {
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    // Añade la entidad al principio de la lista de la celda
+    private void link(int id, int cell) {
+        int first = head[cell];
+        next[id] = first;
+        previous[id] = -1;
+        if (first != -1) {
+            previous[first] = id;
+        }
+        head[cell] = id;
+        cellOf[id] = cell;
+    }
+
+    // Saca la entidad de la lista de su celda
+    private void unlink(int id) {
+        int cell = cellOf[id];
+        if (cell == -1) {
+            return;
+        }
+        if (previous[id] != -1) {
+            next[previous[id]] = next[id];
+        } else {
+            head[cell] = next[id];
+        }
+        if (next[id] != -1) {
+            previous[next[id]] = previous[id];
+        }
+        cellOf[id] = -1;
+    }
+}
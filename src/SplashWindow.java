@@ -0,0 +1,58 @@
+// Importa las clases necesarias para gráficos
+import java.awt.*;
+// Importa componentes de interfaz gráfica Swing
+import javax.swing.*;
+
+// Ventana de carga sin bordes con el título y una barra de progreso, que se ve mientras
+// GameAssets lee los recursos. Solo dibuja texto y rectángulos: no necesita ningún recurso.
+// (Nunca se serializa)
+@SuppressWarnings("serial")
+final class SplashWindow extends JWindow implements GameAssets.Progress {
+    // Tamaño de la ventana
+    private static final int WIDTH = 360;
+    private static final int HEIGHT = 120;
+    // Colores del juego
+    private static final Color BAR_BORDER = new Color(33, 33, 222);
+
+    // Progreso actual (lo escriben los hilos de carga, lo lee el hilo de Swing)
+    private volatile int done;
+    private volatile int total = 1;
+
+    // Constructor: ventana centrada en la pantalla
+    SplashWindow() {
+        JComponent content = new JComponent() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                paintSplash(g);
+            }
+        };
+        content.setPreferredSize(new Dimension(WIDTH, HEIGHT));
+        setContentPane(content);
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    // Se llama desde los hilos de carga al terminar cada recurso
+    @Override
+    public void loaded(int done, int total) {
+        this.done = done;
+        this.total = total;
+        repaint();
+    }
+
+    // Fondo negro, título y barra de progreso
+    private void paintSplash(Graphics g) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.setColor(Color.YELLOW);
+        g.setFont(new Font("Arial Black", Font.BOLD, 24));
+        String title = "PAC-MAN ERIKIKI";
+        g.drawString(title, (WIDTH - g.getFontMetrics().stringWidth(title)) / 2, 48);
+
+        int barWidth = WIDTH - 60;
+        g.setColor(BAR_BORDER);
+        g.drawRect(30, 72, barWidth, 16);
+        g.setColor(Color.YELLOW);
+        g.fillRect(32, 74, (barWidth - 3) * done / total, 13);
+    }
+}
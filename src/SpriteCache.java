@@ -0,0 +1,194 @@
+// Importa las clases necesarias para gráficos
+import java.awt.*;
+// Importa clase para manejar imágenes en memoria
+import java.awt.image.BufferedImage;
+// Importa clases para errores de lectura
+import java.io.IOException;
+import java.io.UncheckedIOException;
+// Importa la tabla concurrente de sprites por color y las tareas de carga en paralelo
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+// Importa clase para lectura de imágenes
+import javax.imageio.ImageIO;
+
+// Imágenes del juego leídas una sola vez. Las compartidas (paredes, fantasmas, fondo del menú
+// y logo) y el color inicial se cargan en paralelo al crear la caché; las de Pac-Man se guardan
+// por color, y preload() lee el resto en un hilo de fondo mientras se ve el menú, para que
+// elegir color sea inmediato.
+final class SpriteCache {
+    // Colores que se pueden elegir en el menú
+    static final String[] COLORS = {"amarillo", "azul", "negro", "celeste", "rojo", "rosa", "verde"};
+    // Recursos que lee el constructor (cinco sprites, fondo, logo y el color inicial)
+    static final int ASSET_COUNT = 8;
+
+    // Tamaño de una celda (tamaño de los sprites en pantalla)
+    private final int tileSize;
+
+    // Imágenes compartidas por todos los colores
+    final Image wallImage;
+    final Image blueGhostImage;
+    final Image orangeGhostImage;
+    final Image pinkGhostImage;
+    final Image redGhostImage;
+    final Image menuBackground;
+    final Image logoImage;
+
+    // Sprites de Pac-Man por color, en el orden de las direcciones (arriba, abajo, izquierda, derecha).
+    // Se guarda la lectura en curso o terminada de cada color, no las imágenes: así la tabla solo
+    // se bloquea para crear la entrada, nunca mientras se leen los archivos
+    private final Map<String, CompletableFuture<Image[]>> pacmanImages = new ConcurrentHashMap<>();
+    // Ya se lanzó la precarga de colores
+    private boolean preloading;
+
+    // Constructor: lee en 'pool' las imágenes compartidas y las del color inicial, cada una en
+    // su tarea, y espera a que terminen. 'loaded' se llama (desde el pool) al terminar cada una.
+    SpriteCache(int tileSize, int boardWidth, int boardHeight, String initialColor,
+                ExecutorService pool, Runnable loaded) throws IOException {
+        this.tileSize = tileSize;
+        Future<Image> wall = submit(pool, loaded, () -> loadSprite("./wall.png"));
+        Future<Image> blueGhost = submit(pool, loaded, () -> loadSprite("./blueGhost.png"));
+        Future<Image> orangeGhost = submit(pool, loaded, () -> loadSprite("./orangeGhost.png"));
+        Future<Image> pinkGhost = submit(pool, loaded, () -> loadSprite("./pinkGhost.png"));
+        Future<Image> redGhost = submit(pool, loaded, () -> loadSprite("./redGhost.png"));
+        Future<Image> menu = submit(pool, loaded, () -> loadMenuBackground(boardWidth, boardHeight));
+        Future<Image> logo = submit(pool, loaded, () -> read("./logo.png"));
+        Future<Image[]> initial = submit(pool, loaded, () -> loadPacman(initialColor));
+
+        wallImage = get(wall);
+        blueGhostImage = get(blueGhost);
+        orangeGhostImage = get(orangeGhost);
+        pinkGhostImage = get(pinkGhost);
+        redGhostImage = get(redGhost);
+        menuBackground = get(menu);
+        logoImage = get(logo);
+        pacmanImages.put(initialColor, CompletableFuture.completedFuture(get(initial)));
+    }
+
+    // Sprites de Pac-Man de un color (arriba, abajo, izquierda, derecha). Si la precarga está
+    // leyendo ese mismo color, espera a que termine en lugar de leerlo otra vez.
+    Image[] pacman(String color) {
+        CompletableFuture<Image[]> created = new CompletableFuture<>();
+        CompletableFuture<Image[]> images = pacmanImages.computeIfAbsent(color, c -> created);
+        if (images == created) {
+            // Este hilo creó la entrada: lee los sprites fuera del bloqueo de la tabla
+            try {
+                created.complete(loadPacman(color));
+            } catch (IOException | RuntimeException e) {
+                // Se quita la entrada para que el próximo intento vuelva a leer
+                pacmanImages.remove(color, created);
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return images.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    // Lee los cuatro sprites de Pac-Man de un color
+    private Image[] loadPacman(String color) throws IOException {
+        try {
+            String folder = "./pacman_" + folder(color) + "/";
+            return new Image[] {
+                loadSprite(folder + "pacmanUp.png"),
+                loadSprite(folder + "pacmanDown.png"),
+                loadSprite(folder + "pacmanLeft.png"),
+                loadSprite(folder + "pacmanRight.png")
+            };
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IOException("No se pudo cargar Pac-Man " + color + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Fondo del menú escalado una sola vez al tamaño del tablero
+    private static Image loadMenuBackground(int boardWidth, int boardHeight) throws IOException {
+        Image rawImage = read("./menu_background.png");
+        BufferedImage scaledImage = new BufferedImage(boardWidth, boardHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scaledImage.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.drawImage(rawImage, 0, 0, boardWidth, boardHeight, null);
+        g2d.dispose();
+        return scaledImage;
+    }
+
+    // Lee en un hilo de fondo los sprites de todos los colores (solo la primera vez)
+    synchronized void preload() {
+        if (preloading) {
+            return;
+        }
+        preloading = true;
+        Thread thread = new Thread(() -> {
+            for (String color : COLORS) {
+                try {
+                    pacman(color);
+                } catch (UncheckedIOException e) {
+                    // El error se vuelve a producir (y se muestra) si se elige ese color
+                }
+            }
+        }, "sprite-preload");
+        thread.setDaemon(true);
+        // Prioridad baja: no debe competir con el menú
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    // Envía una tarea de carga al pool y avisa al terminar (bien o mal)
+    private static <T> Future<T> submit(ExecutorService pool, Runnable loaded, Callable<T> task) {
+        return pool.submit(() -> {
+            try {
+                return task.call();
+            } finally {
+                loaded.run();
+            }
+        });
+    }
+
+    // Espera el resultado de una tarea de carga y devuelve sus errores de lectura tal cual
+    static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Carga interrumpida", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    // Carpeta de los sprites de cada color (el negro está en "pacman_black")
+    static String folder(String color) {
+        return color.equals("negro") ? "black" : color;
+    }
+
+    // Lee un sprite y lo deja en el formato de la pantalla y al tamaño de una celda,
+    // para que dibujarlo en cada cuadro sea una copia sin escalar
+    private Image loadSprite(String path) throws IOException {
+        return SpriteImages.compatible(read(path), tileSize, tileSize);
+    }
+
+    // Lee una imagen de los recursos
+    private static BufferedImage read(String path) throws IOException {
+        java.net.URL url = SpriteCache.class.getResource(path);
+        if (url == null) {
+            throw new IOException("No existe el recurso " + path);
+        }
+        return ImageIO.read(url);
+    }
+}
@@ -0,0 +1,53 @@
+// Importa las clases necesarias para gráficos
+import java.awt.*;
+// Importa clase para manejar imágenes en memoria
+import java.awt.image.BufferedImage;
+
+// Convierte los sprites leídos con ImageIO a imágenes compatibles con la pantalla y ya
+// escaladas al tamaño con el que se dibujan. Así cada cuadro hace copias directas sin
+// escalar ni convertir formato, que Java2D puede acelerar.
+final class SpriteImages {
+    private SpriteImages() {
+    }
+
+    // Copia 'source' escalada a width x height en el formato de la pantalla.
+    // Sin pantalla (headless) usa ARGB premultiplicado, el formato más rápido de copiar por software.
+    static BufferedImage compatible(BufferedImage source, int width, int height) {
+        int transparency = transparency(source);
+        BufferedImage image;
+        if (GraphicsEnvironment.isHeadless()) {
+            image = new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            image = config.createCompatibleImage(width, height, transparency);
+        }
+        Graphics2D g = image.createGraphics();
+        // Vecino más cercano: los sprites son pixel art y se ven igual que al escalarlos al dibujar
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return image;
+    }
+
+    // Transparencia que realmente usa la imagen: OPAQUE, BITMASK (solo alfa 0 o 255) o TRANSLUCENT.
+    // Las imágenes BITMASK se copian más rápido que las translúcidas.
+    static int transparency(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return Transparency.OPAQUE;
+        }
+        boolean transparent = false;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int alpha = image.getRGB(x, y) >>> 24;
+                if (alpha != 0 && alpha != 255) {
+                    return Transparency.TRANSLUCENT;
+                }
+                transparent |= alpha == 0;
+            }
+        }
+        return transparent ? Transparency.BITMASK : Transparency.OPAQUE;
+    }
+}
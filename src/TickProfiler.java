@@ -0,0 +1,268 @@
+// Importa clases de dibujo para el panel superpuesto
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+// Importa utilidades para vaciar los histogramas
+import java.util.Arrays;
+
+// Perfil por fases del tick y del dibujo (-Dpacman.profile=true; F3 muestra el panel).
+// Cada fase guarda sus duraciones en un histograma de cubetas fijas (log-lineal: 8 cubetas
+// por potencia de dos, menos de un 12.5% de error), así que medir es una llamada a
+// System.nanoTime y un incremento, sin reservar memoria. Sin perfil la simulación y la
+// vista tienen el campo a null y no miden nada.
+// Un tick cuesta menos de un microsegundo y cada System.nanoTime unos 20-50 ns: medir las
+// cuatro fases de todos los ticks lo encarecería un 20-40%. Por eso solo se mide un tick de
+// cada 'tickSampling' (64 por defecto, -Dpacman.profileEvery): el resto solo paga un contador.
+// El dibujo de un cuadro es cientos de veces más caro y se mide siempre.
+// Lo escribe un solo hilo (el del bucle de juego); el panel lo lee sin sincronizar, y un
+// valor desfasado en un cuadro no importa.
+final class TickProfiler {
+    // Fases de move() (GameSimulation)
+    static final int MOVE_PACMAN = 0;
+    static final int CHASE_FIELD = 1;
+    static final int MOVE_GHOSTS = 2;
+    static final int CHECK_FOOD = 3;
+    // Fases de drawGame() (PacMan); se suman durante el cuadro y se guardan una vez por cuadro
+    static final int PAINT_BOARD = 4;
+    static final int PAINT_SPRITES = 5;
+    static final int PAINT_HUD = 6;
+    static final int PAINT_OVERLAY = 7;
+    // Tiempo entre cuadros
+    static final int FRAME = 8;
+    static final String[] NAMES = {"movePacman", "chaseField", "moveGhosts", "checkFood",
+                                   "paintBoard", "paintSprites", "paintHud", "paintOverlay", "frame"};
+
+    // Cubetas: valores menores que 16 ns van solos; después, 8 por cada potencia de dos
+    private static final int SUB_BITS = 3;
+    private static final int LINEAR = 16;
+    private static final int BUCKETS = LINEAR + (63 - 4) * (1 << SUB_BITS);
+
+    // Muestras por cubeta, cantidad y máximo de cada fase
+    private final long[][] counts = new long[NAMES.length][BUCKETS];
+    private final long[] samples = new long[NAMES.length];
+    private final long[] max = new long[NAMES.length];
+
+    // Últimos tiempos entre cuadros para la gráfica (anillo) e instante del último cuadro
+    private static final int GRAPH_FRAMES = 120;
+    private final long[] graph = new long[GRAPH_FRAMES];
+    private int graphNext;
+    private long lastFrame;
+    // Cuadros medidos en total
+    private long frames;
+    // Tiempo de cada fase de dibujo en el cuadro actual. Con zonas sucias drawGame se ejecuta
+    // una vez por zona: cada llamada suma aquí y el cuadro guarda el total (una muestra)
+    private final long[] frameNanos = new long[NAMES.length];
+    private final boolean[] framePainted = new boolean[NAMES.length];
+
+    // Textos del panel; se rehacen cada REFRESH_FRAMES cuadros para no formatear en cada uno
+    // (con zonas sucias, un cuadro dibuja el panel varias veces y siempre con el mismo texto)
+    private static final int REFRESH_FRAMES = 30;
+    private final String[] lines = new String[NAMES.length];
+    private long linesFrame = -REFRESH_FRAMES;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 180);
+    // Tamaño del panel
+    static final int WIDTH = 300;
+    private static final int GRAPH_HEIGHT = 60;
+    private static final int LINE_HEIGHT = 12;
+    static final int HEIGHT = GRAPH_HEIGHT + 8 + (NAMES.length + 1) * LINE_HEIGHT + 8;
+    // Cabecera de las columnas del panel y del resumen
+    private static final String HEADER = String.format("%-12s %8s %8s %8s", "µs", "p50", "p99", "max");
+
+    // Se mide un tick de cada 'tickSampling'; cuenta atrás hasta el siguiente
+    private final int tickSampling;
+    private int ticksToSample;
+
+    // Constructor: perfil que mide un tick de cada -Dpacman.profileEvery (64 por defecto)
+    TickProfiler() {
+        this(Integer.getInteger("pacman.profileEvery", 64));
+    }
+
+    // Constructor: perfil que mide un tick de cada 'tickSampling' (1 = todos)
+    TickProfiler(int tickSampling) {
+        this.tickSampling = Math.max(1, tickSampling);
+    }
+
+    // ¿Se mide este tick? Se llama una vez por tick
+    boolean sampleTick() {
+        if (--ticksToSample > 0) {
+            return false;
+        }
+        ticksToSample = tickSampling;
+        return true;
+    }
+
+    // ¿Está pedido el perfil? (-Dpacman.profile=true)
+    static boolean enabled() {
+        return Boolean.getBoolean("pacman.profile");
+    }
+
+    // Guarda la duración de una fase que empezó en 'start' y devuelve el instante actual,
+    // que sirve de inicio de la fase siguiente
+    long record(int phase, long start) {
+        long now = System.nanoTime();
+        add(phase, now - start);
+        return now;
+    }
+
+    // Suma al cuadro actual la duración de una fase de dibujo que empezó en 'start' y devuelve
+    // el instante actual, que sirve de inicio de la fase siguiente
+    long accumulate(int phase, long start) {
+        long now = System.nanoTime();
+        frameNanos[phase] += now - start;
+        framePainted[phase] = true;
+        return now;
+    }
+
+    // Marca el final de un cuadro en el instante 'now': guarda las fases de dibujo del cuadro
+    // y el tiempo desde el cuadro anterior
+    void frame(long now) {
+        for (int phase = PAINT_BOARD; phase <= PAINT_OVERLAY; phase++) {
+            if (framePainted[phase]) {
+                add(phase, frameNanos[phase]);
+            }
+        }
+        clearFrame();
+        if (lastFrame != 0) {
+            long interval = now - lastFrame;
+            add(FRAME, interval);
+            graph[graphNext] = interval;
+            graphNext = (graphNext + 1) % GRAPH_FRAMES;
+            frames++;
+        }
+        lastFrame = now;
+    }
+
+    // El bucle se detuvo: el tiempo hasta el siguiente cuadro no cuenta, ni lo dibujado mientras
+    // tanto (menús, pantallas de pausa)
+    void pause() {
+        lastFrame = 0;
+        clearFrame();
+    }
+
+    // Empieza a sumar las fases de dibujo de un cuadro nuevo
+    private void clearFrame() {
+        Arrays.fill(frameNanos, 0);
+        Arrays.fill(framePainted, false);
+    }
+
+    // Guarda una duración en nanosegundos
+    void add(int phase, long nanos) {
+        counts[phase][bucket(nanos)]++;
+        samples[phase]++;
+        if (nanos > max[phase]) {
+            max[phase] = nanos;
+        }
+    }
+
+    // Descarta todas las muestras
+    void reset() {
+        for (int phase = 0; phase < NAMES.length; phase++) {
+            Arrays.fill(counts[phase], 0);
+            samples[phase] = 0;
+            max[phase] = 0;
+        }
+        Arrays.fill(graph, 0);
+        lastFrame = 0;
+        clearFrame();
+        frames = 0;
+        linesFrame = -REFRESH_FRAMES;
+    }
+
+    // Muestras guardadas de una fase
+    long samples(int phase) {
+        return samples[phase];
+    }
+
+    // Percentil p (0..1) de una fase, en nanosegundos (límite superior de su cubeta)
+    long percentile(int phase, double p) {
+        long n = samples[phase];
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * n));
+        long seen = 0;
+        long[] c = counts[phase];
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += c[b];
+            if (seen >= rank) {
+                return Math.min(upperBound(b), max[phase]);
+            }
+        }
+        return max[phase];
+    }
+
+    // Una línea por fase con p50, p99 y máximo en microsegundos
+    String summary() {
+        StringBuilder text = new StringBuilder("perfil\n").append(HEADER);
+        for (int phase = 0; phase < NAMES.length; phase++) {
+            text.append('\n').append(line(phase));
+        }
+        return text.toString();
+    }
+
+    // Línea de una fase
+    private String line(int phase) {
+        long n = samples[phase];
+        if (n == 0) {
+            return String.format("%-12s %8s", NAMES[phase], "-");
+        }
+        return String.format("%-12s %8.1f %8.1f %8.1f", NAMES[phase],
+                percentile(phase, 0.50) / 1e3, percentile(phase, 0.99) / 1e3, max[phase] / 1e3);
+    }
+
+    // Dibuja el panel en (x, y): gráfica de los últimos cuadros y percentiles de cada fase
+    void draw(Graphics g, int x, int y) {
+        if (frames - linesFrame >= REFRESH_FRAMES) {
+            linesFrame = frames;
+            for (int phase = 0; phase < NAMES.length; phase++) {
+                lines[phase] = line(phase);
+            }
+        }
+        g.setColor(BACKGROUND);
+        g.fillRect(x, y, WIDTH, HEIGHT);
+
+        // Barras de tiempo entre cuadros; la escala llega a 50 ms y la línea marca 16.7 ms (60 FPS)
+        int graphX = x + 4;
+        int graphBottom = y + 4 + GRAPH_HEIGHT;
+        double pixelsPerNano = GRAPH_HEIGHT / 50e6;
+        int barWidth = (WIDTH - 8) / GRAPH_FRAMES;
+        for (int i = 0; i < GRAPH_FRAMES; i++) {
+            long interval = graph[(graphNext + i) % GRAPH_FRAMES];
+            int height = (int) Math.min(GRAPH_HEIGHT, interval * pixelsPerNano);
+            g.setColor(interval > 20_000_000L ? Color.RED : Color.GREEN);
+            g.fillRect(graphX + i * barWidth, graphBottom - height, barWidth, height);
+        }
+        g.setColor(Color.YELLOW);
+        int target = graphBottom - (int) (16_666_667L * pixelsPerNano);
+        g.drawLine(graphX, target, graphX + GRAPH_FRAMES * barWidth, target);
+
+        // Percentiles por fase
+        g.setColor(Color.WHITE);
+        g.setFont(FONT);
+        g.drawString(HEADER, graphX, graphBottom + 4 + LINE_HEIGHT);
+        for (int phase = 0; phase < NAMES.length; phase++) {
+            g.drawString(lines[phase], graphX, graphBottom + 4 + (phase + 2) * LINE_HEIGHT);
+        }
+    }
+
+    // Cubeta de un valor en nanosegundos
+    static int bucket(long nanos) {
+        if (nanos < LINEAR) {
+            return (int) Math.max(0, nanos);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return LINEAR + ((exponent - 4) << SUB_BITS) + sub;
+    }
+
+    // Mayor valor que cae en una cubeta
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = ((bucket - LINEAR) >> SUB_BITS) + 4;
+        long sub = (bucket - LINEAR) & ((1 << SUB_BITS) - 1);
+        return ((8 + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,125 @@
+// Mapa de bits compacto por celda del tablero (una fila = uno o varios long)
+class TileBitmap {
+    // Número de filas del tablero
+    final int rows;
+    // Número de columnas del tablero
+    final int columns;
+    // Cantidad de long necesarios para guardar una fila completa
+    private final int wordsPerRow;
+    // Bits de todas las filas, fila tras fila
+    private final long[] bits;
+
+    // Constructor: crea un mapa vacío del tamaño indicado
+    TileBitmap(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        // Redondea hacia arriba a múltiplos de 64 columnas
+        this.wordsPerRow = (columns + 63) >>> 6;
+        this.bits = new long[rows * wordsPerRow];
+    }
+
+    // Crea el mapa marcando las celdas del tileMap que contienen el carácter indicado
+    static TileBitmap fromTileMap(String[] tileMap, int rows, int columns, char tile) {
+        TileBitmap bitmap = new TileBitmap(rows, columns);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (tileMap[r].charAt(c) == tile) {
+                    bitmap.set(r, c);
+                }
+            }
+        }
+        return bitmap;
+    }
+
+    // Indica si la celda está marcada (fuera del tablero siempre es falso)
+    boolean get(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return false;
+        }
+        return (bits[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    // Marca una celda
+    void set(int row, int column) {
+        bits[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+    }
+
+    // Desmarca una celda
+    void clear(int row, int column) {
+        bits[row * wordsPerRow + (column >>> 6)] &= ~(1L << column);
+    }
+
+    // Cuenta cuántas celdas están marcadas
+    int count() {
+        int total = 0;
+        for (long word : bits) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    // Devuelve la siguiente columna marcada de la fila a partir de fromColumn, o -1 si no hay.
+    // Salta palabras vacías completas, así que recorrer las celdas marcadas no toca las vacías.
+    int nextSetColumn(int row, int fromColumn) {
+        if (fromColumn >= columns) {
+            return -1;
+        }
+        int base = row * wordsPerRow;
+        int wordIndex = fromColumn >>> 6;
+        // Ignora los bits anteriores a fromColumn en la primera palabra
+        long word = bits[base + wordIndex] & (-1L << fromColumn);
+        while (true) {
+            if (word != 0) {
+                int column = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return column < columns ? column : -1;
+            }
+            if (++wordIndex == wordsPerRow) {
+                return -1;
+            }
+            word = bits[base + wordIndex];
+        }
+    }
+
+    // Copia independiente del mapa
+    TileBitmap copy() {
+        TileBitmap copy = new TileBitmap(rows, columns);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    // Copia las celdas marcadas de otro mapa del mismo tamaño
+    void copyFrom(TileBitmap other) {
+        System.arraycopy(other.bits, 0, bits, 0, bits.length);
+    }
+
+    // Celdas que cambiaron entre este mapa y otro del mismo tamaño, para una palabra de 64 columnas
+    // de la fila (bit 0 = columna wordIndex * 64). Permite recorrer solo las diferencias.
+    long difference(TileBitmap other, int row, int wordIndex) {
+        int index = row * wordsPerRow + wordIndex;
+        return bits[index] ^ other.bits[index];
+    }
+
+    // Cantidad de palabras de 64 columnas por fila
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    // Verifica si un rectángulo en píxeles toca alguna celda marcada.
+    // Solo revisa las 1-4 celdas que el rectángulo cubre, no todo el tablero.
+    boolean overlaps(int x, int y, int width, int height, int tileSize) {
+        // Rango de filas y columnas cubiertas (floorDiv para posiciones negativas del túnel)
+        int firstRow = Math.max(0, Math.floorDiv(y, tileSize));
+        int lastRow = Math.min(rows - 1, Math.floorDiv(y + height - 1, tileSize));
+        int firstColumn = Math.max(0, Math.floorDiv(x, tileSize));
+        int lastColumn = Math.min(columns - 1, Math.floorDiv(x + width - 1, tileSize));
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                if ((bits[r * wordsPerRow + (c >>> 6)] & (1L << c)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}